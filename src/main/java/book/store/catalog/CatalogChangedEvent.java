@@ -0,0 +1,4 @@
+package book.store.catalog;
+
+public record CatalogChangedEvent() {
+}
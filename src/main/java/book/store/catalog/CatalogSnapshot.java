@@ -0,0 +1,107 @@
+package book.store.catalog;
+
+import book.store.dto.book.BookDto;
+import book.store.dto.book.BookDtoWithoutCategoryIds;
+import book.store.dto.category.CategoryDto;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+public final class CatalogSnapshot {
+    private static final String ID = "id";
+    private final long[] bookIds;
+    private final BookDto[] books;
+    private final BookDtoWithoutCategoryIds[] booksWithoutCategoryIds;
+    private final long[] categoryIds;
+    private final CategoryDto[] categories;
+    private final int[][] categoryBookPositions;
+
+    private CatalogSnapshot(List<BookDto> books, List<CategoryDto> categories,
+                            Function<BookDto, BookDtoWithoutCategoryIds> withoutCategoryIds) {
+        this.books = books.toArray(BookDto[]::new);
+        this.bookIds = books.stream().mapToLong(BookDto::getId).toArray();
+        this.booksWithoutCategoryIds = books.stream()
+                .map(withoutCategoryIds)
+                .toArray(BookDtoWithoutCategoryIds[]::new);
+        this.categories = categories.toArray(CategoryDto[]::new);
+        this.categoryIds = categories.stream().mapToLong(CategoryDto::id).toArray();
+        List<List<Integer>> positions = new ArrayList<>();
+        categories.forEach(category -> positions.add(new ArrayList<>()));
+        for (int i = 0; i < this.books.length; i++) {
+            for (Long categoryId : this.books[i].getCategoryIds()) {
+                int categoryPosition = Arrays.binarySearch(categoryIds, categoryId);
+                if (categoryPosition >= 0) {
+                    positions.get(categoryPosition).add(i);
+                }
+            }
+        }
+        this.categoryBookPositions = positions.stream()
+                .map(bookPositions -> bookPositions.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+    }
+
+    public static CatalogSnapshot of(List<BookDto> booksOrderedById,
+                                     List<CategoryDto> categoriesOrderedById,
+                                     Function<BookDto, BookDtoWithoutCategoryIds> mapper) {
+        return new CatalogSnapshot(booksOrderedById, categoriesOrderedById, mapper);
+    }
+
+    public static boolean supports(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        return sort.isUnsorted() || sort.equals(Sort.by(ID));
+    }
+
+    public int getBookCount() {
+        return books.length;
+    }
+
+    public int getCategoryCount() {
+        return categories.length;
+    }
+
+    public Optional<BookDto> findBook(long id) {
+        int position = Arrays.binarySearch(bookIds, id);
+        return position >= 0 ? Optional.of(books[position]) : Optional.empty();
+    }
+
+    public Slice<BookDto> findBooks(Pageable pageable) {
+        return page(books, pageable);
+    }
+
+    public List<BookDtoWithoutCategoryIds> findBooksByCategoryId(long categoryId,
+                                                                 Pageable pageable) {
+        int categoryPosition = Arrays.binarySearch(categoryIds, categoryId);
+        if (categoryPosition < 0) {
+            return List.of();
+        }
+        return Arrays.stream(categoryBookPositions[categoryPosition])
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .mapToObj(position -> booksWithoutCategoryIds[position])
+                .toList();
+    }
+
+    public Optional<CategoryDto> findCategory(long id) {
+        int position = Arrays.binarySearch(categoryIds, id);
+        return position >= 0 ? Optional.of(categories[position]) : Optional.empty();
+    }
+
+    public Slice<CategoryDto> findCategories(Pageable pageable) {
+        return page(categories, pageable);
+    }
+
+    private static <T> Slice<T> page(T[] values, Pageable pageable) {
+        List<T> content = Arrays.stream(values)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return new SliceImpl<>(content, pageable,
+                pageable.getOffset() + content.size() < values.length);
+    }
+}
@@ -0,0 +1,87 @@
+package book.store.catalog;
+
+import book.store.dto.book.BookDto;
+import book.store.mapper.BookMapper;
+import book.store.mapper.CategoryMapper;
+import book.store.repository.book.BookJdbcRepository;
+import book.store.repository.category.CategoryRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+public class CatalogSnapshotManager {
+    private final BookJdbcRepository bookJdbcRepository;
+    private final CategoryRepository categoryRepository;
+    private final BookMapper bookMapper;
+    private final CategoryMapper categoryMapper;
+    private final boolean enabled;
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor();
+
+    public CatalogSnapshotManager(BookJdbcRepository bookJdbcRepository,
+                                  CategoryRepository categoryRepository,
+                                  BookMapper bookMapper,
+                                  CategoryMapper categoryMapper,
+                                  @Value("${catalog.snapshot.enabled:false}") boolean enabled) {
+        this.bookJdbcRepository = bookJdbcRepository;
+        this.categoryRepository = categoryRepository;
+        this.bookMapper = bookMapper;
+        this.categoryMapper = categoryMapper;
+        this.enabled = enabled;
+    }
+
+    public Optional<CatalogSnapshot> getSnapshot() {
+        return Optional.ofNullable(snapshot.get());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        List<BookDto> books = new ArrayList<>();
+        bookJdbcRepository.streamAll(books::add);
+        CatalogSnapshot refreshed = CatalogSnapshot.of(books,
+                categoryRepository.findAll(Sort.by("id")).stream()
+                        .map(categoryMapper::toDto)
+                        .toList(),
+                bookMapper::toBookDtoWithoutCategoryIds);
+        snapshot.set(refreshed);
+        log.info("Refreshed catalog snapshot with {} books and {} categories",
+                refreshed.getBookCount(), refreshed.getCategoryCount());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (enabled && refreshScheduled.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> {
+                refreshScheduled.set(false);
+                try {
+                    refresh();
+                } catch (RuntimeException e) {
+                    log.error("Can't refresh catalog snapshot", e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+}
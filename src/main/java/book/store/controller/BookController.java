@@ -1,15 +1,35 @@
 package book.store.controller;
 
+import book.store.dto.book.BookBatchDto;
+import book.store.dto.book.BookCategoryFilterDto;
 import book.store.dto.book.BookDto;
+import book.store.dto.book.BookExportFormat;
+import book.store.dto.book.BookImportResultDto;
 import book.store.dto.book.BookSearchParametersDto;
+import book.store.dto.book.BookSearchResultDto;
+import book.store.dto.book.BookSuggestionDto;
 import book.store.dto.book.CreateBookRequestDto;
+import book.store.dto.page.CursorPageDto;
+import book.store.service.book.BookCoverService;
+import book.store.service.book.BookExportService;
+import book.store.service.book.BookImportService;
 import book.store.service.book.BookService;
+import book.store.service.count.TotalCountService;
+import book.store.storage.CoverImage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,15 +37,28 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Book management", description = "Endpoints for managing books")
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/books")
 public class BookController {
+    private static final CacheControl COVER_CACHE_CONTROL = CacheControl
+            .maxAge(365, TimeUnit.DAYS)
+            .cachePublic()
+            .immutable();
+    private static final String BYTES = "bytes";
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final BookCoverService bookCoverService;
+    private final TotalCountService totalCountService;
 
     @Operation(summary = "Create a new book", description = "Create a new book")
     @PostMapping
@@ -34,18 +67,110 @@ public class BookController {
         return bookService.save(bookDto);
     }
 
+    @Operation(summary = "Import books",
+            description = "Imports books from a CSV stream with a header row or an NDJSON "
+                    + "stream and returns a per-row error report")
+    @PostMapping(value = "/import",
+            consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public BookImportResultDto importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream inputStream) {
+        return bookImportService.importBooks(inputStream, contentType);
+    }
+
+    @Operation(summary = "Export books",
+            description = "Streams every available book with its category ids as NDJSON or CSV")
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        BookExportFormat exportFormat = BookExportFormat.of(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=books." + exportFormat.getExtension())
+                .body(outputStream -> bookExportService.exportBooks(outputStream, exportFormat));
+    }
+
     @Operation(summary = "Get book by id",
             description = "Get book details by its unique identifier (ID)")
     @GetMapping("/{id}")
-    public BookDto getBookById(@PathVariable Long id) {
-        return bookService.getBookDtoById(id);
+    public ResponseEntity<BookDto> getBookById(@PathVariable Long id) {
+        BookDto bookDto = bookService.getBookDtoById(id);
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(bookDto.getVersion()))
+                .body(bookDto);
+    }
+
+    @Operation(summary = "Upload book cover",
+            description = "Stores a JPEG, PNG or GIF cover image by its content hash and links "
+                    + "it to the book")
+    @PutMapping(value = "/{id}/cover", consumes = {MediaType.IMAGE_JPEG_VALUE,
+            MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_GIF_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public BookDto uploadCover(@PathVariable Long id, InputStream inputStream) {
+        return bookCoverService.uploadCover(id, inputStream);
+    }
+
+    @Operation(summary = "Get book cover",
+            description = "Streams the book cover or a thumbnail of the given width. "
+                    + "Supports single byte ranges and conditional requests")
+    @GetMapping("/{id}/cover")
+    public ResponseEntity<StreamingResponseBody> getCover(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer width,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            WebRequest webRequest) {
+        CoverImage cover = bookCoverService.getCover(id, width);
+        if (webRequest.checkNotModified(cover.tag())) {
+            return null;
+        }
+        HttpRange httpRange = toSingleRange(range);
+        if (httpRange == null) {
+            return coverResponse(HttpStatus.OK, cover)
+                    .contentLength(cover.length())
+                    .body(outputStream -> cover.transferTo(0, cover.length(), outputStream));
+        }
+        long start = httpRange.getRangeStart(cover.length());
+        long end = httpRange.getRangeEnd(cover.length());
+        if (start >= cover.length() || start > end) {
+            return coverResponse(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, cover)
+                    .header(HttpHeaders.CONTENT_RANGE, BYTES + " */" + cover.length())
+                    .build();
+        }
+        return coverResponse(HttpStatus.PARTIAL_CONTENT, cover)
+                .header(HttpHeaders.CONTENT_RANGE,
+                        BYTES + " " + start + "-" + end + "/" + cover.length())
+                .contentLength(end - start + 1)
+                .body(outputStream -> cover.transferTo(start, end - start + 1, outputStream));
+    }
+
+    @Operation(summary = "Get books by ids",
+            description = "Retrieves books in the requested order and reports ids not found")
+    @GetMapping(params = "ids")
+    public BookBatchDto getAllByIds(@RequestParam List<Long> ids) {
+        return bookService.getAllByIds(ids);
     }
 
     @Operation(summary = "Get all books",
-            description = "Retrieves a paginated list of all available books")
+            description = "Retrieves a page of available books without counting them. "
+                    + "X-Has-Next tells whether more pages follow and X-Total-Count carries "
+                    + "a periodically refreshed approximate total")
     @GetMapping
-    public List<BookDto> getAll(Pageable pageable) {
-        return bookService.getAll(pageable);
+    public ResponseEntity<List<BookDto>> getAll(Pageable pageable) {
+        return SliceResponses.toResponse(bookService.getAll(pageable),
+                totalCountService.getBookCount());
+    }
+
+    @Operation(summary = "Get all books after a cursor",
+            description = "Retrieves books ordered by the sort field and id, starting after "
+                    + "the given cursor. Pass an empty cursor to get the first page")
+    @GetMapping(params = "after")
+    public CursorPageDto<BookDto> getAllAfter(@RequestParam String after,
+                                              @RequestParam(defaultValue = "20") int size,
+                                              @RequestParam(defaultValue = "id") String sort) {
+        return bookService.getAll(after, sort, size);
     }
 
     @Operation(summary = "Update book by id",
@@ -65,10 +190,54 @@ public class BookController {
         return bookService.deleteById(id);
     }
 
-    @Operation(summary = "Search book", description = "Search book by title or author")
+    @Operation(summary = "Search book",
+            description = "Search book by title or author, or rank books by a full-text "
+                    + "query. Set fuzzy=true to match the query by title and author similarity")
     @GetMapping("/search")
     public List<BookDto> search(BookSearchParametersDto bookSearchParametersDto,
                                 Pageable pageable) {
         return bookService.search(bookSearchParametersDto, pageable);
     }
+
+    @Operation(summary = "Search book with facets",
+            description = "Search books and count all matches per category and per author")
+    @GetMapping(value = "/search", params = "facets=true")
+    public BookSearchResultDto searchWithFacets(BookSearchParametersDto bookSearchParametersDto,
+                                                Pageable pageable) {
+        return bookService.searchWithFacets(bookSearchParametersDto, pageable);
+    }
+
+    @Operation(summary = "Filter books by categories",
+            description = "Retrieves books ordered by id that are in all categories of 'all', "
+                    + "in at least one category of 'any' and in no category of 'none'")
+    @GetMapping("/filter")
+    public List<BookDto> filterByCategories(BookCategoryFilterDto bookCategoryFilterDto,
+                                            Pageable pageable) {
+        return bookService.filterByCategories(bookCategoryFilterDto, pageable);
+    }
+
+    @Operation(summary = "Suggest books",
+            description = "Returns the most popular titles and authors starting with a prefix")
+    @GetMapping("/suggest")
+    public List<BookSuggestionDto> suggest(@RequestParam String prefix,
+                                           @RequestParam(defaultValue = "10") int limit) {
+        return bookService.suggest(prefix, limit);
+    }
+
+    private static ResponseEntity.BodyBuilder coverResponse(HttpStatus status, CoverImage cover) {
+        return ResponseEntity.status(status)
+                .contentType(cover.mediaType())
+                .eTag(cover.tag())
+                .cacheControl(COVER_CACHE_CONTROL)
+                .header(HttpHeaders.ACCEPT_RANGES, BYTES);
+    }
+
+    private static HttpRange toSingleRange(String range) {
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(range);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
@@ -3,14 +3,17 @@ package book.store.controller;
 import book.store.dto.book.BookDtoWithoutCategoryIds;
 import book.store.dto.category.CategoryDto;
 import book.store.dto.category.CreateCategoryRequestDto;
+import book.store.dto.page.CursorPageDto;
 import book.store.service.book.BookService;
 import book.store.service.category.CategoryService;
+import book.store.service.count.TotalCountService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,7 +22,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Categories management", description = "Endpoints for managing categories")
 @RequiredArgsConstructor
@@ -28,6 +33,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class CategoryController {
     private final CategoryService categoryService;
     private final BookService bookService;
+    private final TotalCountService totalCountService;
 
     @Operation(summary = "Create a category")
     @PostMapping
@@ -36,16 +42,27 @@ public class CategoryController {
         return categoryService.save(requestDto);
     }
 
-    @Operation(summary = "Get all categories")
+    @Operation(summary = "Get all categories",
+            description = "Retrieves a page of categories without counting them. "
+                    + "X-Has-Next tells whether more pages follow and X-Total-Count carries "
+                    + "a periodically refreshed approximate total")
     @GetMapping
-    public List<CategoryDto> getAll(Pageable pageable) {
-        return categoryService.getAll(pageable);
+    public ResponseEntity<List<CategoryDto>> getAll(Pageable pageable) {
+        return SliceResponses.toResponse(categoryService.getAll(pageable),
+                totalCountService.getCategoryCount());
     }
 
     @Operation(summary = "Get category by id")
     @GetMapping("/{id}")
-    public CategoryDto getCategoryById(@PathVariable Long id) {
-        return categoryService.getById(id);
+    public ResponseEntity<CategoryDto> getCategoryById(@PathVariable Long id,
+                                                       WebRequest webRequest) {
+        if (webRequest.checkNotModified(String.valueOf(categoryService.getVersionById(id)))) {
+            return null;
+        }
+        CategoryDto categoryDto = categoryService.getById(id);
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(categoryDto.version()))
+                .body(categoryDto);
     }
 
     @Operation(summary = "Update category by id")
@@ -69,4 +86,14 @@ public class CategoryController {
                                                                 Pageable pageable) {
         return bookService.getBooksByCategoryId(id, pageable);
     }
+
+    @Operation(summary = "Get books by category id after a cursor")
+    @GetMapping(value = "/{id}/books", params = "after")
+    public CursorPageDto<BookDtoWithoutCategoryIds> getBooksByCategoryIdAfter(
+            @PathVariable Long id,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort) {
+        return bookService.getBooksByCategoryId(id, after, sort, size);
+    }
 }
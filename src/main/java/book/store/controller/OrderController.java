@@ -1,10 +1,12 @@
 package book.store.controller;
 
+import book.store.dto.order.OrderCheckoutDto;
 import book.store.dto.order.OrderItemResponseDto;
 import book.store.dto.order.OrderRequestDto;
 import book.store.dto.order.OrderResponseDto;
 import book.store.dto.order.UpdateOrderStatusRequestDto;
 import book.store.model.User;
+import book.store.service.order.OrderCheckoutService;
 import book.store.service.order.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,6 +14,9 @@ import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,13 +26,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @Tag(name = "Order management", description = "Endpoints for managing orders")
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
+    private static final String RESPOND_ASYNC = "respond-async";
     private final OrderService orderService;
+    private final OrderCheckoutService orderCheckoutService;
 
     @Operation(summary = "Place a new order",
             description = "Place a new order based on user's shopping cart")
@@ -41,11 +49,47 @@ public class OrderController {
         return orderService.createOrder(requestDto, user.getId());
     }
 
+    @Operation(summary = "Place a new order asynchronously",
+            description = "Validates the cart and queues the order when the request is sent "
+                    + "with 'Prefer: respond-async'. Returns 202 with a checkout reference "
+                    + "whose status can be polled")
+    @PreAuthorize("hasRole('USER')")
+    @PostMapping(headers = "Prefer=" + RESPOND_ASYNC)
+    public ResponseEntity<OrderCheckoutDto> createOrderAsync(
+            Authentication authentication,
+            @RequestBody @Valid OrderRequestDto requestDto
+    ) {
+        User user = (User) authentication.getPrincipal();
+        OrderCheckoutDto checkout = orderCheckoutService.submit(requestDto, user.getId());
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequestUri()
+                        .path("/checkouts/{reference}")
+                        .buildAndExpand(checkout.reference())
+                        .toUri())
+                .header("Preference-Applied", RESPOND_ASYNC)
+                .body(checkout);
+    }
+
+    @Operation(summary = "Get checkout status",
+            description = "Retrieve the status of an order placed asynchronously and the id "
+                    + "of the order once it is placed")
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/checkouts/{reference}")
+    public OrderCheckoutDto getCheckout(Authentication authentication,
+                                        @PathVariable String reference) {
+        User user = (User) authentication.getPrincipal();
+        return orderCheckoutService.getCheckout(reference, user.getId());
+    }
+
     @Operation(summary = "Get user's order history",
-            description = "Retrieve all orders for authenticated user")
+            description = "Retrieve orders with their items for authenticated user, "
+                    + "newest first unless another sort is given")
     @PreAuthorize("hasRole('USER')")
     @GetMapping
-    public List<OrderResponseDto> getOrders(Authentication authentication, Pageable pageable) {
+    public List<OrderResponseDto> getOrders(
+            Authentication authentication,
+            @PageableDefault(sort = "orderDate", direction = Sort.Direction.DESC)
+            Pageable pageable) {
         User user = (User) authentication.getPrincipal();
         return orderService.getOrders(user.getId(), pageable);
     }
@@ -1,5 +1,6 @@
 package book.store.controller;
 
+import book.store.dto.cart.item.CartItemBatchRequestDto;
 import book.store.dto.cart.item.CartItemRequestDto;
 import book.store.dto.cart.item.CartItemUpdateQuantityDto;
 import book.store.dto.shopping.cart.ShoppingCartResponseDto;
@@ -52,6 +53,31 @@ public class ShoppingCartController {
         return shoppingCartService.addCartItem(cartItemRequestDto, authenticatedUser.getId());
     }
 
+    @Operation(summary = "Apply a batch of cart changes",
+            description = "Applies a list of add, update and remove operations to the user's "
+                    + "shopping cart in one transaction and returns the resulting cart.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "All operations successfully applied"),
+            @ApiResponse(responseCode = "400",
+                    description = "Invalid operation specified"),
+            @ApiResponse(responseCode = "401",
+                    description = "Unauthorized. Authentication required"),
+            @ApiResponse(responseCode = "403",
+                    description = "Forbidden. Permission denied"),
+            @ApiResponse(responseCode = "404",
+                    description = "Book or item not found. No operation is applied")
+    })
+    @PreAuthorize("hasRole('USER')")
+    @PostMapping("/batch")
+    public ShoppingCartResponseDto applyBatch(
+            Authentication authentication,
+            @RequestBody @Valid CartItemBatchRequestDto batchRequestDto) {
+        User authenticatedUser = (User) authentication.getPrincipal();
+        return shoppingCartService.applyBatch(batchRequestDto.operations(),
+                authenticatedUser.getId());
+    }
+
     @Operation(summary = "Get shopping cart",
             description = "Retrieves the current shopping cart of the authenticated user,"
                     + " including all cart items.")
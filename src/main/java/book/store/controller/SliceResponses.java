@@ -0,0 +1,21 @@
+package book.store.controller;
+
+import java.util.List;
+import java.util.OptionalLong;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+
+final class SliceResponses {
+    static final String HAS_NEXT = "X-Has-Next";
+    static final String TOTAL_COUNT = "X-Total-Count";
+
+    private SliceResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> toResponse(Slice<T> slice, OptionalLong totalCount) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HAS_NEXT, String.valueOf(slice.hasNext()));
+        totalCount.ifPresent(count -> response.header(TOTAL_COUNT, String.valueOf(count)));
+        return response.body(slice.getContent());
+    }
+}
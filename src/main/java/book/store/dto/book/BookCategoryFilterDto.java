@@ -0,0 +1,6 @@
+package book.store.dto.book;
+
+public record BookCategoryFilterDto(Long[] all,
+                                    Long[] any,
+                                    Long[] none) {
+}
@@ -0,0 +1,26 @@
+package book.store.dto.book;
+
+import book.store.exception.InvalidRequestParameterException;
+import java.util.Arrays;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum BookExportFormat {
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON),
+    CSV("csv", new MediaType("text", "csv"));
+
+    private static final String UNSUPPORTED_FORMAT = "Unsupported export format: ";
+    private final String extension;
+    private final MediaType mediaType;
+
+    public static BookExportFormat of(String format) {
+        return Arrays.stream(values())
+                .filter(exportFormat -> exportFormat.extension.equalsIgnoreCase(format))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestParameterException(
+                        UNSUPPORTED_FORMAT + format));
+    }
+}
@@ -1,4 +1,13 @@
 package book.store.dto.book;
 
-public record BookSearchParametersDto(String[] titles, String[] authors) {
+import java.math.BigDecimal;
+
+public record BookSearchParametersDto(String[] titles,
+                                      String[] authors,
+                                      String[] isbns,
+                                      Long[] categoryIds,
+                                      BigDecimal minPrice,
+                                      BigDecimal maxPrice,
+                                      String query,
+                                      Boolean fuzzy) {
 }
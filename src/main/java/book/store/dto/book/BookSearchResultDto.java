@@ -0,0 +1,9 @@
+package book.store.dto.book;
+
+import java.util.List;
+import java.util.Map;
+
+public record BookSearchResultDto(List<BookDto> books,
+                                  Map<Long, Long> categoryCounts,
+                                  Map<String, Long> authorCounts) {
+}
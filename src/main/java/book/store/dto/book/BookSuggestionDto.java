@@ -0,0 +1,8 @@
+package book.store.dto.book;
+
+public record BookSuggestionDto(String value, Type type) {
+    public enum Type {
+        TITLE,
+        AUTHOR
+    }
+}
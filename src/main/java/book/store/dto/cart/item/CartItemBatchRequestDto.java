@@ -0,0 +1,14 @@
+package book.store.dto.cart.item;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record CartItemBatchRequestDto(
+        @NotEmpty
+        @Size(max = 100)
+        List<@Valid @NotNull CartItemOperationDto> operations
+) {
+}
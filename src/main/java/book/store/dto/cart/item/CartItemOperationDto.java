@@ -0,0 +1,35 @@
+package book.store.dto.cart.item;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record CartItemOperationDto(
+        @NotNull
+        Type type,
+        @Positive
+        Long bookId,
+        @Positive
+        Long itemId,
+        @Positive
+        Integer quantity
+) {
+    @AssertTrue(message = "ADD needs bookId and quantity, UPDATE needs itemId and quantity, "
+            + "REMOVE needs itemId")
+    public boolean isComplete() {
+        if (type == null) {
+            return true;
+        }
+        return switch (type) {
+            case ADD -> bookId != null && quantity != null;
+            case UPDATE -> itemId != null && quantity != null;
+            case REMOVE -> itemId != null;
+        };
+    }
+
+    public enum Type {
+        ADD,
+        UPDATE,
+        REMOVE
+    }
+}
@@ -1,4 +1,4 @@
 package book.store.dto.category;
 
-public record CategoryDto(int id, String name, String description) {
+public record CategoryDto(int id, String name, String description, Long version) {
 }
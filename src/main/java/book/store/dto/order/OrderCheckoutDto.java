@@ -0,0 +1,12 @@
+package book.store.dto.order;
+
+public record OrderCheckoutDto(String reference,
+                               Status status,
+                               Long orderId,
+                               String message) {
+    public enum Status {
+        QUEUED,
+        PLACED,
+        REJECTED
+    }
+}
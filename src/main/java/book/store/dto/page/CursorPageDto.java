@@ -0,0 +1,6 @@
+package book.store.dto.page;
+
+import java.util.List;
+
+public record CursorPageDto<T>(List<T> content, String nextCursor) {
+}
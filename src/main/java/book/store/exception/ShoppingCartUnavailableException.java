@@ -0,0 +1,7 @@
+package book.store.exception;
+
+public class ShoppingCartUnavailableException extends RuntimeException {
+    public ShoppingCartUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,144 @@
+package book.store.index;
+
+import book.store.model.Book;
+import book.store.model.Category;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookCategoryIndex implements BookIndex {
+    private Map<Long, Roaring64Bitmap> booksByCategory = new HashMap<>();
+    private Roaring64Bitmap books = new Roaring64Bitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void index(Book book) {
+        index(book, book.getCategories().stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet()));
+    }
+
+    @Override
+    public void index(Book book, Set<Long> categoryIds) {
+        lock.writeLock().lock();
+        try {
+            removeBook(book.getId());
+            books.addLong(book.getId());
+            for (Long categoryId : categoryIds) {
+                booksByCategory.computeIfAbsent(categoryId, id -> new Roaring64Bitmap())
+                        .addLong(book.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeBook(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Rebuild startRebuild() {
+        BookCategoryIndex rebuilt = new BookCategoryIndex();
+        return new Rebuild(rebuilt, () -> replaceWith(rebuilt));
+    }
+
+    public void removeCategory(Long categoryId) {
+        lock.writeLock().lock();
+        try {
+            booksByCategory.remove(categoryId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> filter(Collection<Long> all, Collection<Long> any, Collection<Long> none,
+                             long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap matches = match(all, any);
+            for (Long categoryId : none) {
+                Roaring64Bitmap excluded = booksByCategory.get(categoryId);
+                if (excluded != null) {
+                    matches.andNot(excluded);
+                }
+            }
+            if (offset >= matches.getLongCardinality()) {
+                return List.of();
+            }
+            List<Long> bookIds = new ArrayList<>(limit);
+            LongIterator iterator = matches.getLongIteratorFrom(matches.select(offset));
+            while (iterator.hasNext() && bookIds.size() < limit) {
+                bookIds.add(iterator.next());
+            }
+            return bookIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void replaceWith(BookCategoryIndex rebuilt) {
+        lock.writeLock().lock();
+        try {
+            booksByCategory = rebuilt.booksByCategory;
+            books = rebuilt.books;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Roaring64Bitmap match(Collection<Long> all, Collection<Long> any) {
+        List<Roaring64Bitmap> required = new ArrayList<>();
+        for (Long categoryId : all) {
+            Roaring64Bitmap bitmap = booksByCategory.get(categoryId);
+            if (bitmap == null) {
+                return new Roaring64Bitmap();
+            }
+            required.add(bitmap);
+        }
+        if (!any.isEmpty()) {
+            Roaring64Bitmap union = new Roaring64Bitmap();
+            any.stream()
+                    .map(booksByCategory::get)
+                    .filter(Objects::nonNull)
+                    .forEach(union::or);
+            required.add(union);
+        }
+        if (required.isEmpty()) {
+            return books.clone();
+        }
+        required.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+        Roaring64Bitmap matches = required.get(0).clone();
+        required.stream().skip(1).forEach(matches::and);
+        return matches;
+    }
+
+    private void removeBook(Long bookId) {
+        if (!books.contains(bookId)) {
+            return;
+        }
+        books.removeLong(bookId);
+        booksByCategory.values().removeIf(bitmap -> {
+            bitmap.removeLong(bookId);
+            return bitmap.isEmpty();
+        });
+    }
+}
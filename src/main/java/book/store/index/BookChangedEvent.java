@@ -0,0 +1,6 @@
+package book.store.index;
+
+import book.store.model.Book;
+
+public record BookChangedEvent(Book book) {
+}
@@ -0,0 +1,19 @@
+package book.store.index;
+
+import book.store.model.Book;
+import java.util.Set;
+
+public interface BookIndex {
+    void index(Book book);
+
+    default void index(Book book, Set<Long> categoryIds) {
+        index(book);
+    }
+
+    void remove(Long bookId);
+
+    Rebuild startRebuild();
+
+    record Rebuild(BookIndex index, Runnable publish) {
+    }
+}
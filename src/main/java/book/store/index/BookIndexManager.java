@@ -0,0 +1,116 @@
+package book.store.index;
+
+import book.store.model.Book;
+import book.store.repository.book.BookCategoryView;
+import book.store.repository.book.BookCursor;
+import book.store.repository.book.BookRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class BookIndexManager {
+    private static final String ID_FIELD = "id";
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private final List<BookIndex> bookIndices;
+    private final BookRepository bookRepository;
+    private final Lock rebuildLock = new ReentrantLock();
+    private final Lock changeLock = new ReentrantLock();
+    private List<BookIndex> rebuiltIndices = List.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            List<BookIndex.Rebuild> rebuilds = bookIndices.stream()
+                    .map(BookIndex::startRebuild)
+                    .toList();
+            List<BookIndex> indices = rebuilds.stream().map(BookIndex.Rebuild::index).toList();
+            withChangeLock(() -> rebuiltIndices = indices);
+            long indexed = 0;
+            BookCursor cursor = BookCursor.decode(null, ID_FIELD);
+            List<Book> books;
+            do {
+                books = bookRepository.findAllAfter(cursor.toSpecification(), cursor.toSort(),
+                        REBUILD_PAGE_SIZE);
+                if (!books.isEmpty()) {
+                    indices.forEach(indexing(books));
+                    indexed += books.size();
+                    cursor = BookCursor.after(books.get(books.size() - 1), ID_FIELD);
+                }
+            } while (books.size() == REBUILD_PAGE_SIZE);
+            withChangeLock(() -> {
+                rebuilds.forEach(rebuild -> rebuild.publish().run());
+                rebuiltIndices = List.of();
+            });
+            log.info("Indexed {} books", indexed);
+        } catch (RuntimeException e) {
+            withChangeLock(() -> rebuiltIndices = List.of());
+            throw e;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public void index(Book book) {
+        index(List.of(book));
+    }
+
+    public void index(List<Book> books) {
+        if (!books.isEmpty()) {
+            change(indexing(books));
+        }
+    }
+
+    public void remove(Long bookId) {
+        change(bookIndex -> bookIndex.remove(bookId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        index(event.book());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookRemoved(BookRemovedEvent event) {
+        remove(event.bookId());
+    }
+
+    private Consumer<BookIndex> indexing(List<Book> books) {
+        Map<Long, Set<Long>> categoryIds = bookRepository.findCategoryIdsByBookIds(
+                        books.stream().map(Book::getId).toList()).stream()
+                .collect(Collectors.groupingBy(BookCategoryView::getBookId,
+                        Collectors.mapping(BookCategoryView::getCategoryId,
+                                Collectors.toSet())));
+        return bookIndex -> books.forEach(book -> bookIndex.index(book,
+                categoryIds.getOrDefault(book.getId(), Set.of())));
+    }
+
+    private void change(Consumer<BookIndex> change) {
+        withChangeLock(() -> {
+            bookIndices.forEach(change);
+            rebuiltIndices.forEach(change);
+        });
+    }
+
+    private void withChangeLock(Runnable action) {
+        changeLock.lock();
+        try {
+            action.run();
+        } finally {
+            changeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package book.store.index;
+
+public record BookRemovedEvent(Long bookId) {
+}
@@ -0,0 +1,4 @@
+package book.store.index;
+
+public record BookSoldEvent(Long bookId, int quantity) {
+}
@@ -0,0 +1,430 @@
+package book.store.index;
+
+import book.store.dto.book.BookSuggestionDto;
+import book.store.model.Book;
+import book.store.repository.order.BookSalesView;
+import book.store.repository.order.OrderItemRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@RequiredArgsConstructor
+@Component
+public class BookSuggestionIndex implements BookIndex {
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Suggestion> BY_RANK = Comparator
+            .comparingLong(Suggestion::getWeight).reversed()
+            .thenComparing(suggestion -> suggestion.value);
+    private final OrderItemRepository orderItemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Long> sales = new HashMap<>();
+    private Map<String, Suggestion> suggestions = new HashMap<>();
+    private Map<Long, IndexedBook> books = new HashMap<>();
+    private Node root = new Node();
+    private BookSuggestionIndex rebuilding;
+
+    @Override
+    public void index(Book book) {
+        lock.writeLock().lock();
+        try {
+            removeBook(book.getId());
+            long weight = 1 + sales.getOrDefault(book.getId(), 0L);
+            IndexedBook indexedBook = new IndexedBook(
+                    addReference(book.getTitle(), BookSuggestionDto.Type.TITLE, weight),
+                    addReference(book.getAuthor(), BookSuggestionDto.Type.AUTHOR, weight),
+                    weight);
+            books.put(book.getId(), indexedBook);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeBook(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Rebuild startRebuild() {
+        BookSuggestionIndex rebuilt = new BookSuggestionIndex(orderItemRepository);
+        for (BookSalesView bookSales : orderItemRepository.findBookSales()) {
+            rebuilt.sales.put(bookSales.getBookId(), bookSales.getQuantity());
+        }
+        lock.writeLock().lock();
+        try {
+            rebuilding = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Rebuild(rebuilt, () -> replaceWith(rebuilt));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookSold(BookSoldEvent event) {
+        recordSale(event.bookId(), event.quantity());
+    }
+
+    public void recordSale(Long bookId, int quantity) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding != null) {
+                rebuilding.recordSale(bookId, quantity);
+            }
+            sales.merge(bookId, (long) quantity, Long::sum);
+            IndexedBook indexedBook = books.get(bookId);
+            if (indexedBook == null) {
+                return;
+            }
+            indexedBook.weight += quantity;
+            changeWeight(indexedBook.title, quantity);
+            changeWeight(indexedBook.author, quantity);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = find(normalizedPrefix);
+            if (node == null) {
+                return List.of();
+            }
+            return Arrays.stream(node.top)
+                    .limit(Math.min(limit, MAX_SUGGESTIONS))
+                    .map(suggestion -> new BookSuggestionDto(suggestion.value, suggestion.type))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void replaceWith(BookSuggestionIndex rebuilt) {
+        lock.writeLock().lock();
+        try {
+            sales = rebuilt.sales;
+            suggestions = rebuilt.suggestions;
+            books = rebuilt.books;
+            root = rebuilt.root;
+            rebuilding = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Suggestion addReference(String value, BookSuggestionDto.Type type, long weight) {
+        String normalizedValue = normalize(value);
+        if (normalizedValue.isEmpty()) {
+            return null;
+        }
+        Suggestion suggestion = suggestions.get(type + normalizedValue);
+        if (suggestion == null) {
+            suggestion = new Suggestion(value.trim(), type, normalizedValue);
+            suggestions.put(type + normalizedValue, suggestion);
+            suggestion.weight = weight;
+            suggestion.references = 1;
+            for (String key : keys(normalizedValue)) {
+                insert(key, suggestion);
+            }
+            return suggestion;
+        }
+        suggestion.references++;
+        changeWeight(suggestion, weight);
+        return suggestion;
+    }
+
+    private void removeBook(Long bookId) {
+        IndexedBook indexedBook = books.remove(bookId);
+        if (indexedBook == null) {
+            return;
+        }
+        removeReference(indexedBook.title, indexedBook.weight);
+        removeReference(indexedBook.author, indexedBook.weight);
+    }
+
+    private void removeReference(Suggestion suggestion, long weight) {
+        if (suggestion == null) {
+            return;
+        }
+        if (--suggestion.references > 0) {
+            changeWeight(suggestion, -weight);
+            return;
+        }
+        suggestions.remove(suggestion.type + suggestion.normalizedValue);
+        for (String key : keys(suggestion.normalizedValue)) {
+            delete(key, suggestion);
+        }
+    }
+
+    private void changeWeight(Suggestion suggestion, long delta) {
+        if (suggestion == null) {
+            return;
+        }
+        suggestion.weight += delta;
+        for (String key : keys(suggestion.normalizedValue)) {
+            refreshPath(key);
+        }
+    }
+
+    private void insert(String key, Suggestion suggestion) {
+        Node node = root;
+        int matched = 0;
+        while (matched < key.length()) {
+            Node child = node.child(key.charAt(matched));
+            if (child == null) {
+                child = new Node(key.substring(matched));
+                node.addChild(child);
+                matched = key.length();
+            } else {
+                int common = commonPrefixLength(child.edge, key, matched);
+                if (common < child.edge.length()) {
+                    child = node.split(child, common);
+                }
+                matched += common;
+            }
+            node = child;
+        }
+        node.values = append(node.values, suggestion);
+        refreshPath(key);
+    }
+
+    private void delete(String key, Suggestion suggestion) {
+        List<Node> path = path(key);
+        Node node = path.get(path.size() - 1);
+        if (depth(path) != key.length()) {
+            return;
+        }
+        node.values = Arrays.stream(node.values)
+                .filter(value -> value != suggestion)
+                .toArray(Suggestion[]::new);
+        for (int i = path.size() - 1; i > 0; i--) {
+            path.get(i - 1).compact(path.get(i));
+        }
+        refreshPath(key);
+    }
+
+    private void refreshPath(String key) {
+        List<Node> path = path(key);
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).refreshTop();
+        }
+    }
+
+    // Nodes whose edges lie entirely on key, starting with the root.
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int matched = 0;
+        while (matched < key.length()) {
+            node = node.child(key.charAt(matched));
+            if (node == null || !key.startsWith(node.edge, matched)) {
+                break;
+            }
+            path.add(node);
+            matched += node.edge.length();
+        }
+        return path;
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        int matched = 0;
+        while (matched < prefix.length()) {
+            node = node.child(prefix.charAt(matched));
+            if (node == null) {
+                return null;
+            }
+            int common = commonPrefixLength(node.edge, prefix, matched);
+            if (matched + common == prefix.length()) {
+                return node;
+            }
+            if (common < node.edge.length()) {
+                return null;
+            }
+            matched += common;
+        }
+        return node;
+    }
+
+    private static int depth(List<Node> path) {
+        int depth = 0;
+        for (int i = 1; i < path.size(); i++) {
+            depth += path.get(i).edge.length();
+        }
+        return depth;
+    }
+
+    private static int commonPrefixLength(String edge, String key, int offset) {
+        int length = Math.min(edge.length(), key.length() - offset);
+        int common = 0;
+        while (common < length && edge.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static Set<String> keys(String normalizedValue) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalizedValue);
+        int separator = normalizedValue.indexOf(' ');
+        while (separator >= 0) {
+            keys.add(normalizedValue.substring(separator + 1));
+            separator = normalizedValue.indexOf(' ', separator + 1);
+        }
+        return keys;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return SEPARATOR.matcher(value.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static Suggestion[] append(Suggestion[] values, Suggestion suggestion) {
+        Suggestion[] result = Arrays.copyOf(values, values.length + 1);
+        result[values.length] = suggestion;
+        return result;
+    }
+
+    private static class Suggestion {
+        private final String value;
+        private final BookSuggestionDto.Type type;
+        private final String normalizedValue;
+        private long weight;
+        private int references;
+
+        private Suggestion(String value, BookSuggestionDto.Type type, String normalizedValue) {
+            this.value = value;
+            this.type = type;
+            this.normalizedValue = normalizedValue;
+        }
+
+        private long getWeight() {
+            return weight;
+        }
+    }
+
+    private static class IndexedBook {
+        private final Suggestion title;
+        private final Suggestion author;
+        private long weight;
+
+        private IndexedBook(Suggestion title, Suggestion author, long weight) {
+            this.title = title;
+            this.author = author;
+            this.weight = weight;
+        }
+    }
+
+    // Path-compressed: a node exists only where keys branch or end, and its edge holds the
+    // characters leading to it from the parent.
+    private static class Node {
+        private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private String edge;
+        private char[] labels = new char[0];
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] values = NO_SUGGESTIONS;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        private Node() {
+            this("");
+        }
+
+        private Node(String edge) {
+            this.edge = edge;
+        }
+
+        private Node child(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            return position >= 0 ? children[position] : null;
+        }
+
+        private void addChild(Node child) {
+            int insertAt = -Arrays.binarySearch(labels, child.edge.charAt(0)) - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = child.edge.charAt(0);
+            newChildren[insertAt] = child;
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1,
+                    children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        private void removeChild(Node child) {
+            int position = Arrays.binarySearch(labels, child.edge.charAt(0));
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, position);
+            System.arraycopy(children, 0, newChildren, 0, position);
+            System.arraycopy(labels, position + 1, newLabels, position,
+                    labels.length - position - 1);
+            System.arraycopy(children, position + 1, newChildren, position,
+                    children.length - position - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        private Node split(Node child, int length) {
+            Node middle = new Node(child.edge.substring(0, length));
+            children[Arrays.binarySearch(labels, child.edge.charAt(0))] = middle;
+            child.edge = child.edge.substring(length);
+            middle.addChild(child);
+            middle.top = child.top;
+            return middle;
+        }
+
+        private void compact(Node child) {
+            if (child.values.length > 0 || child.children.length > 1) {
+                return;
+            }
+            if (child.children.length == 0) {
+                removeChild(child);
+                return;
+            }
+            Node grandchild = child.children[0];
+            grandchild.edge = child.edge + grandchild.edge;
+            children[Arrays.binarySearch(labels, child.edge.charAt(0))] = grandchild;
+        }
+
+        private void refreshTop() {
+            List<Suggestion> candidates = new ArrayList<>(Arrays.asList(values));
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            top = candidates.stream()
+                    .distinct()
+                    .sorted(BY_RANK)
+                    .limit(MAX_SUGGESTIONS)
+                    .toArray(Suggestion[]::new);
+        }
+    }
+}
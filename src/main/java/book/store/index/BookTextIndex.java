@@ -0,0 +1,127 @@
+package book.store.index;
+
+import book.store.model.Book;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookTextIndex implements BookIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int ISBN_WEIGHT = 5;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private Map<Long, Set<String>> documentTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void index(Book book) {
+        Map<String, Integer> termWeights = new HashMap<>();
+        addTerms(termWeights, book.getTitle(), TITLE_WEIGHT);
+        addTerms(termWeights, book.getAuthor(), AUTHOR_WEIGHT);
+        addTerms(termWeights, book.getIsbn(), ISBN_WEIGHT);
+        addTerms(termWeights, book.getDescription(), DESCRIPTION_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(book.getId());
+            termWeights.forEach((term, weight) -> postings
+                    .computeIfAbsent(term, t -> new HashMap<>())
+                    .put(book.getId(), weight));
+            documentTerms.put(book.getId(), termWeights.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Rebuild startRebuild() {
+        BookTextIndex rebuilt = new BookTextIndex();
+        return new Rebuild(rebuilt, () -> replaceWith(rebuilt));
+    }
+
+    public List<Long> search(String query, int limit) {
+        Map<String, Integer> queryTerms = new HashMap<>();
+        addTerms(queryTerms, query, 1);
+        Map<Long, Double> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documentTerms.size();
+            for (String term : queryTerms.keySet()) {
+                Map<Long, Integer> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (double) documentCount / termPostings.size());
+                termPostings.forEach((bookId, weight) ->
+                        scores.merge(bookId, weight * idf, Double::sum));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        return ranked.stream()
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void replaceWith(BookTextIndex rebuilt) {
+        lock.writeLock().lock();
+        try {
+            postings = rebuilt.postings;
+            documentTerms = rebuilt.documentTerms;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> termWeights, String text, int weight) {
+        if (text == null) {
+            return;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                termWeights.merge(token, weight, Integer::sum);
+            }
+        }
+    }
+
+    private void removeDocument(Long bookId) {
+        Set<String> terms = documentTerms.remove(bookId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            termPostings.remove(bookId);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
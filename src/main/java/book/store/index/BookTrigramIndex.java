@@ -0,0 +1,166 @@
+package book.store.index;
+
+import book.store.model.Book;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookTrigramIndex implements BookIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int GRAM_LENGTH = 3;
+    private static final int MAX_CANDIDATES = 10_000;
+    private static final double MIN_SIMILARITY = 0.4;
+    private Map<String, Set<Long>> postings = new HashMap<>();
+    private Map<Long, IndexedBook> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void index(Book book) {
+        IndexedBook indexedBook = new IndexedBook(trigrams(book.getTitle()),
+                trigrams(book.getAuthor()));
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(book.getId());
+            for (String gram : indexedBook.grams()) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(book.getId());
+            }
+            documents.put(book.getId(), indexedBook);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Rebuild startRebuild() {
+        BookTrigramIndex rebuilt = new BookTrigramIndex();
+        return new Rebuild(rebuilt, () -> replaceWith(rebuilt));
+    }
+
+    public List<Long> search(String query, int limit) {
+        Set<String> queryGrams = trigrams(query);
+        if (queryGrams.isEmpty()) {
+            return List.of();
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (Long bookId : findCandidates(queryGrams)) {
+                IndexedBook indexedBook = documents.get(bookId);
+                double similarity = Math.max(
+                        similarity(queryGrams, indexedBook.titleGrams()),
+                        similarity(queryGrams, indexedBook.authorGrams()));
+                if (similarity >= MIN_SIMILARITY) {
+                    ranked.add(Map.entry(bookId, similarity));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        return ranked.stream()
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void replaceWith(BookTrigramIndex rebuilt) {
+        lock.writeLock().lock();
+        try {
+            postings = rebuilt.postings;
+            documents = rebuilt.documents;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Set<Long> findCandidates(Set<String> queryGrams) {
+        List<Set<Long>> gramPostings = queryGrams.stream()
+                .map(postings::get)
+                .filter(Objects::nonNull)
+                .filter(bookIds -> bookIds.size() <= MAX_CANDIDATES)
+                .sorted(Comparator.comparingInt(Set::size))
+                .toList();
+        Set<Long> candidates = new HashSet<>();
+        for (Set<Long> bookIds : gramPostings) {
+            if (candidates.size() + bookIds.size() > MAX_CANDIDATES) {
+                break;
+            }
+            candidates.addAll(bookIds);
+        }
+        return candidates;
+    }
+
+    private static double similarity(Set<String> queryGrams, Set<String> fieldGrams) {
+        if (fieldGrams.isEmpty()) {
+            return 0;
+        }
+        long common = queryGrams.stream().filter(fieldGrams::contains).count();
+        double coverage = (double) common / queryGrams.size();
+        double dice = 2.0 * common / (queryGrams.size() + fieldGrams.size());
+        return Math.max(dice, coverage * coverage);
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        if (text == null) {
+            return grams;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + token + " ";
+            for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + GRAM_LENGTH));
+            }
+        }
+        return grams;
+    }
+
+    private void removeDocument(Long bookId) {
+        IndexedBook indexedBook = documents.remove(bookId);
+        if (indexedBook == null) {
+            return;
+        }
+        for (String gram : indexedBook.grams()) {
+            Set<Long> bookIds = postings.get(gram);
+            bookIds.remove(bookId);
+            if (bookIds.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private record IndexedBook(Set<String> titleGrams, Set<String> authorGrams) {
+        private Set<String> grams() {
+            Set<String> grams = new HashSet<>(titleGrams);
+            grams.addAll(authorGrams);
+            return grams;
+        }
+    }
+}
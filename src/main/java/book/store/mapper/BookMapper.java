@@ -7,43 +7,52 @@ import book.store.dto.book.CreateBookRequestDto;
 import book.store.model.Book;
 import book.store.model.Category;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
-import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.mapstruct.MappingTarget;
-import org.springframework.data.domain.Page;
+import org.mapstruct.Named;
 
-@Mapper(config = MapperConfig.class)
+@Mapper(config = MapperConfig.class, uses = {CategoryReferenceMapper.class, MoneyMapper.class})
 public interface BookMapper {
-    @Mapping(target = "categoryIds", ignore = true)
+    @Mapping(target = "categoryIds", source = "categories", qualifiedByName = "toCategoryIds")
     BookDto toDto(Book book);
 
-    @AfterMapping
-    default void setCategoryIds(@MappingTarget BookDto bookDto, Book book) {
-        bookDto.setCategoryIds(book.getCategories().stream()
+    @Named("withoutCategoryIds")
+    @Mapping(target = "categoryIds", ignore = true)
+    BookDto toDtoWithoutCategoryIds(Book book);
+
+    @Named("toCategoryIds")
+    default Set<Long> toCategoryIds(Set<Category> categories) {
+        return categories.stream()
                 .map(Category::getId)
-                .collect(Collectors.toSet()));
+                .collect(Collectors.toSet());
+    }
+
+    default List<BookDto> toDtoList(List<Book> books, Map<Long, Set<Long>> categoryIds) {
+        return books.stream()
+                .map(book -> {
+                    BookDto bookDto = toDtoWithoutCategoryIds(book);
+                    bookDto.setCategoryIds(categoryIds.getOrDefault(book.getId(), Set.of()));
+                    return bookDto;
+                })
+                .toList();
     }
 
     List<BookDtoWithoutCategoryIds> toBookDtoWithoutCategoryIdsList(List<Book> book);
 
-    List<BookDto> toDtoList(Page<Book> bookList);
+    BookDtoWithoutCategoryIds toBookDtoWithoutCategoryIds(BookDto bookDto);
 
-    @Mapping(target = "categories", ignore = true)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "coverImageKey", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "categories", source = "categoryIds")
     Book toModel(CreateBookRequestDto requestDto);
 
+    @Mapping(target = "coverImageKey", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "categories", ignore = true)
     Book toModel(BookDto bookDto);
-
-    @AfterMapping
-    default void setCategories(@MappingTarget Book book, CreateBookRequestDto requestDto) {
-        Set<Category> categories = requestDto.getCategoryIds()
-                .stream()
-                .map(Category::new)
-                .collect(Collectors.toSet());
-        book.setCategories(categories);
-    }
 }
-
@@ -6,13 +6,16 @@ import book.store.dto.category.CreateCategoryRequestDto;
 import book.store.model.Category;
 import java.util.List;
 import org.mapstruct.Mapper;
-import org.springframework.data.domain.Page;
+import org.mapstruct.Mapping;
 
 @Mapper(config = MapperConfig.class)
 public interface CategoryMapper {
     CategoryDto toDto(Category category);
 
-    List<CategoryDto> toDtoList(Page<Category> category);
+    List<CategoryDto> toDtoList(List<Category> categories);
 
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Category toModel(CreateCategoryRequestDto requestDto);
 }
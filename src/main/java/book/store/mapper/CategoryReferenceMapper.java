@@ -0,0 +1,16 @@
+package book.store.mapper;
+
+import book.store.model.Category;
+import book.store.repository.category.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class CategoryReferenceMapper {
+    private final CategoryRepository categoryRepository;
+
+    public Category toReference(Long id) {
+        return categoryRepository.getReferenceById(id);
+    }
+}
@@ -0,0 +1,16 @@
+package book.store.mapper;
+
+import book.store.model.Money;
+import java.math.BigDecimal;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MoneyMapper {
+    public BigDecimal toBigDecimal(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    public Money toMoney(BigDecimal amount) {
+        return amount == null ? null : Money.of(amount);
+    }
+}
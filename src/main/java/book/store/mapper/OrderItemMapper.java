@@ -3,6 +3,7 @@ package book.store.mapper;
 import book.store.config.MapperConfig;
 import book.store.dto.order.OrderItemResponseDto;
 import book.store.model.OrderItem;
+import book.store.repository.order.OrderItemHistoryView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -10,4 +11,6 @@ import org.mapstruct.Mapping;
 public interface OrderItemMapper {
     @Mapping(source = "book.id", target = "bookId")
     OrderItemResponseDto toDto(OrderItem orderItem);
+
+    OrderItemResponseDto toDto(OrderItemHistoryView orderItem);
 } 
@@ -3,12 +3,16 @@ package book.store.mapper;
 import book.store.config.MapperConfig;
 import book.store.dto.order.OrderResponseDto;
 import book.store.model.Order;
+import book.store.repository.order.OrderHistoryView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(config = MapperConfig.class, uses = OrderItemMapper.class)
+@Mapper(config = MapperConfig.class, uses = {OrderItemMapper.class, MoneyMapper.class})
 public interface OrderMapper {
     @Mapping(source = "user.id", target = "userId")
     @Mapping(source = "orderItems", target = "orderItems")
     OrderResponseDto toDto(Order order);
+
+    @Mapping(target = "orderItems", ignore = true)
+    OrderResponseDto toDto(OrderHistoryView order);
 } 
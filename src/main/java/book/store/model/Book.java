@@ -9,7 +9,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
-import java.math.BigDecimal;
+import jakarta.persistence.Version;
 import java.util.HashSet;
 import java.util.Set;
 import lombok.Data;
@@ -17,7 +17,7 @@ import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
 @Entity
-@SQLDelete(sql = "UPDATE books SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE books SET is_deleted = true WHERE id = ? AND version = ?")
 @Where(clause = "is_deleted = false")
 @Table(name = "books")
 @Data
@@ -32,11 +32,14 @@ public class Book {
     @Column(nullable = false, unique = true)
     private String isbn;
     @Column(nullable = false)
-    private BigDecimal price;
+    private Money price;
     private String description;
     private String coverImage;
+    private String coverImageKey;
     @Column(name = "is_deleted", nullable = false, columnDefinition = "TINYINT")
     private boolean isDeleted = false;
+    @Version
+    private Long version;
     @ManyToMany
     @JoinTable(name = "books_categories",
             joinColumns = @JoinColumn(name = "book_id"),
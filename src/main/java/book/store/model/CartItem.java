@@ -10,6 +10,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -29,4 +30,6 @@ public class CartItem {
     private Book book;
     @Column(nullable = false)
     private int quantity;
+    @Version
+    private Long version;
 }
@@ -6,6 +6,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -14,7 +15,7 @@ import org.hibernate.annotations.Where;
 
 @Setter
 @Getter
-@SQLDelete(sql = "UPDATE categories SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE categories SET is_deleted = true WHERE id = ? AND version = ?")
 @Where(clause = "is_deleted = false")
 @Table(name = "categories")
 @NoArgsConstructor
@@ -28,6 +29,8 @@ public class Category {
     private String description;
     @Column(name = "is_deleted", nullable = false, columnDefinition = "TINYINT")
     private boolean isDeleted = false;
+    @Version
+    private Long version;
 
     public Category(Long id) {
         this.id = id;
@@ -13,7 +13,6 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Set;
 import lombok.Getter;
@@ -41,7 +40,7 @@ public class Order {
     private Status status = Status.PENDING;
     
     @Column(nullable = false)
-    private BigDecimal total;
+    private Money total;
     
     @Column(nullable = false)
     private LocalDateTime orderDate = LocalDateTime.now();
@@ -9,7 +9,6 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
-import java.math.BigDecimal;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -34,5 +33,5 @@ public class OrderItem {
     private int quantity;
     
     @Column(nullable = false)
-    private BigDecimal price;
+    private Money price;
 }
@@ -0,0 +1,7 @@
+package book.store.repository.book;
+
+public interface BookCategoryView {
+    Long getBookId();
+
+    Long getCategoryId();
+}
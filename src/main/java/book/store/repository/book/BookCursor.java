@@ -0,0 +1,88 @@
+package book.store.repository.book;
+
+import book.store.exception.InvalidRequestParameterException;
+import book.store.model.Book;
+import book.store.model.Money;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+public record BookCursor(String sortField, String value, Long id) {
+    private static final String ID_FIELD = "id";
+    private static final String PRICE_FIELD = "price";
+    private static final String SEPARATOR = ":";
+    private static final String INVALID_CURSOR = "Invalid cursor: ";
+    private static final String INVALID_SORT_FIELD = "Cursor pagination does not support sort: ";
+    private static final Map<String, Function<Book, Object>> SORT_FIELDS = Map.of(
+            ID_FIELD, Book::getId,
+            "title", Book::getTitle,
+            "author", Book::getAuthor,
+            PRICE_FIELD, Book::getPrice
+    );
+
+    public static BookCursor decode(String cursor, String sortField) {
+        if (!StringUtils.hasText(cursor)) {
+            return first(sortField);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8).split(SEPARATOR, 3);
+            if (parts.length != 3 || !SORT_FIELDS.containsKey(parts[0])) {
+                throw new InvalidRequestParameterException(INVALID_CURSOR + cursor);
+            }
+            String value = PRICE_FIELD.equals(parts[0])
+                    ? Money.of(new BigDecimal(parts[2])).toString()
+                    : parts[2];
+            return new BookCursor(parts[0], value, Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new InvalidRequestParameterException(INVALID_CURSOR + cursor);
+        }
+    }
+
+    public static BookCursor after(Book book, String sortField) {
+        return new BookCursor(sortField,
+                String.valueOf(SORT_FIELDS.get(sortField).apply(book)), book.getId());
+    }
+
+    public String encode() {
+        String cursor = sortField + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Sort toSort() {
+        return ID_FIELD.equals(sortField) ? Sort.by(ID_FIELD) : Sort.by(sortField, ID_FIELD);
+    }
+
+    public Specification<Book> toSpecification() {
+        if (id == null) {
+            return Specification.where(null);
+        }
+        return switch (sortField) {
+            case ID_FIELD -> (root, query, criteriaBuilder) ->
+                    criteriaBuilder.greaterThan(root.get(ID_FIELD), id);
+            case PRICE_FIELD -> greaterThan(Money.of(new BigDecimal(value)));
+            default -> greaterThan(value);
+        };
+    }
+
+    private static BookCursor first(String sortField) {
+        if (!SORT_FIELDS.containsKey(sortField)) {
+            throw new InvalidRequestParameterException(INVALID_SORT_FIELD + sortField);
+        }
+        return new BookCursor(sortField, null, null);
+    }
+
+    private <T extends Comparable<? super T>> Specification<Book> greaterThan(T lastValue) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.greaterThan(root.get(sortField), lastValue),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(root.get(sortField), lastValue),
+                        criteriaBuilder.greaterThan(root.get(ID_FIELD), id)));
+    }
+}
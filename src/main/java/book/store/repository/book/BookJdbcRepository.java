@@ -0,0 +1,123 @@
+package book.store.repository.book;
+
+import book.store.dto.book.BookDto;
+import book.store.dto.book.CreateBookRequestDto;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class BookJdbcRepository {
+    private static final String FIND_EXISTING_ISBNS =
+            "SELECT isbn FROM books WHERE isbn IN (:isbns)";
+    private static final String FIND_EXISTING_CATEGORY_IDS =
+            "SELECT id FROM categories WHERE id IN (:ids) AND is_deleted = false";
+    private static final String INSERT_BOOK = "INSERT INTO books "
+            + "(title, author, isbn, price, description, cover_image) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BOOK_CATEGORY = "INSERT INTO books_categories "
+            + "(book_id, category_id) SELECT id, ? FROM books WHERE isbn = ?";
+    private static final String FIND_ALL_WITH_CATEGORY_IDS = "SELECT b.id, b.title, b.author, "
+            + "b.isbn, b.price, b.description, b.cover_image, b.version, c.id AS category_id "
+            + "FROM books b "
+            + "LEFT JOIN books_categories bc ON bc.book_id = b.id "
+            + "LEFT JOIN categories c ON c.id = bc.category_id AND c.is_deleted = false "
+            + "WHERE b.is_deleted = false ORDER BY b.id";
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public Set<String> findExistingIsbns(Collection<String> isbns) {
+        if (isbns.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(FIND_EXISTING_ISBNS,
+                Map.of("isbns", isbns), String.class));
+    }
+
+    public Set<Long> findExistingCategoryIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(FIND_EXISTING_CATEGORY_IDS,
+                Map.of("ids", ids), Long.class));
+    }
+
+    public void streamAll(Consumer<BookDto> consumer) {
+        BookRowCallbackHandler rowCallbackHandler = new BookRowCallbackHandler(consumer);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_ALL_WITH_CATEGORY_IDS,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            return statement;
+        }, rowCallbackHandler);
+        rowCallbackHandler.complete();
+    }
+
+    public void saveAll(List<CreateBookRequestDto> books) {
+        jdbcTemplate.batchUpdate(INSERT_BOOK, books, books.size(), (statement, book) -> {
+            statement.setString(1, book.getTitle());
+            statement.setString(2, book.getAuthor());
+            statement.setString(3, book.getIsbn());
+            statement.setBigDecimal(4, book.getPrice());
+            statement.setString(5, book.getDescription());
+            statement.setString(6, book.getCoverImage());
+        });
+        List<Object[]> bookCategories = books.stream()
+                .flatMap(book -> book.getCategoryIds().stream()
+                        .map(categoryId -> new Object[]{categoryId, book.getIsbn()}))
+                .toList();
+        if (!bookCategories.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BOOK_CATEGORY, bookCategories);
+        }
+    }
+
+    private static class BookRowCallbackHandler implements RowCallbackHandler {
+        private final Consumer<BookDto> consumer;
+        private BookDto current;
+
+        private BookRowCallbackHandler(Consumer<BookDto> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            long id = resultSet.getLong("id");
+            if (current == null || !current.getId().equals(id)) {
+                complete();
+                current = new BookDto();
+                current.setId(id);
+                current.setTitle(resultSet.getString("title"));
+                current.setAuthor(resultSet.getString("author"));
+                current.setIsbn(resultSet.getString("isbn"));
+                current.setPrice(resultSet.getBigDecimal("price"));
+                current.setDescription(resultSet.getString("description"));
+                current.setCoverImage(resultSet.getString("cover_image"));
+                current.setVersion(resultSet.getLong("version"));
+                current.setCategoryIds(new HashSet<>());
+            }
+            long categoryId = resultSet.getLong("category_id");
+            if (!resultSet.wasNull()) {
+                current.getCategoryIds().add(categoryId);
+            }
+        }
+
+        private void complete() {
+            if (current != null) {
+                consumer.accept(current);
+                current = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package book.store.repository.book;
+
+import book.store.model.Book;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface BookQueryRepository {
+    List<Long> findIds(Specification<Book> specification);
+
+    Slice<Book> findSlice(Specification<Book> specification, Pageable pageable);
+
+    Map<Long, Long> countByCategoryId(Specification<Book> specification, int limit);
+
+    Map<String, Long> countByAuthor(Specification<Book> specification, int limit);
+}
@@ -0,0 +1,94 @@
+package book.store.repository.book;
+
+import book.store.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+public class BookQueryRepositoryImpl implements BookQueryRepository {
+    private static final String ID = "id";
+    private static final String AUTHOR = "author";
+    private static final String CATEGORIES = "categories";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIds(Specification<Book> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(root.get(ID))
+                .where(specification.toPredicate(root, query, criteriaBuilder));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Slice<Book> findSlice(Specification<Book> specification, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> query = criteriaBuilder.createQuery(Book.class);
+        Root<Book> root = query.from(Book.class);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root)
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        List<Book> books = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = books.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? books.subList(0, pageable.getPageSize()) : books,
+                pageable, hasNext);
+    }
+
+    @Override
+    public Map<Long, Long> countByCategoryId(Specification<Book> specification, int limit) {
+        return countBy(specification, root -> root.join(CATEGORIES).get(ID), Long.class, limit);
+    }
+
+    @Override
+    public Map<String, Long> countByAuthor(Specification<Book> specification, int limit) {
+        return countBy(specification, root -> root.get(AUTHOR), String.class, limit);
+    }
+
+    private <T> Map<T, Long> countBy(Specification<Book> specification,
+                                     Function<Root<Book>, Expression<T>> keyExtractor,
+                                     Class<T> keyType,
+                                     int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Book> root = query.from(Book.class);
+        Expression<T> key = keyExtractor.apply(root);
+        Expression<Long> count = criteriaBuilder.countDistinct(root);
+        query.multiselect(key, count)
+                .groupBy(key)
+                .orderBy(criteriaBuilder.desc(count), criteriaBuilder.asc(key));
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        Map<T, Long> counts = new LinkedHashMap<>();
+        for (Tuple tuple : entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()) {
+            counts.put(tuple.get(0, keyType), tuple.get(1, Long.class));
+        }
+        return counts;
+    }
+}
@@ -1,8 +1,13 @@
 package book.store.repository.book;
 
 import book.store.model.Book;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -10,7 +15,23 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>,
+        BookQueryRepository {
+    Slice<Book> findAllBy(Pageable pageable);
+
     @Query("FROM Book b INNER JOIN FETCH b.categories c WHERE c.id = :categoryId")
     List<Book> findAllBooksByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    List<Book> findAllByIsbnIn(Collection<String> isbns);
+
+    @Query("SELECT b.id AS bookId, c.id AS categoryId FROM Book b JOIN b.categories c "
+            + "WHERE b.id IN :bookIds")
+    List<BookCategoryView> findCategoryIdsByBookIds(@Param("bookIds") Collection<Long> bookIds);
+
+    @Query("SELECT b.coverImageKey FROM Book b WHERE b.id = :id")
+    Optional<String> findCoverImageKeyById(@Param("id") Long id);
+
+    default List<Book> findAllAfter(Specification<Book> specification, Sort sort, int limit) {
+        return findBy(specification, query -> query.sortBy(sort).limit(limit).all());
+    }
 }
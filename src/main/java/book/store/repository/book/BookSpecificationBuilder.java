@@ -4,6 +4,8 @@ import book.store.dto.book.BookSearchParametersDto;
 import book.store.model.Book;
 import book.store.repository.SpecificationBuilder;
 import book.store.repository.SpecificationProviderManager;
+import java.util.Arrays;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
@@ -30,6 +32,26 @@ public class BookSpecificationBuilder implements
                     .getSpecificationProvider("title").getSpecification(titles));
         }
 
+        String[] isbns = searchParametersDto.isbns();
+        if (isbns != null && isbns.length > 0) {
+            specification = specification.and(bookSpecificationProviderManager
+                    .getSpecificationProvider("isbn").getSpecification(isbns));
+        }
+
+        Long[] categoryIds = searchParametersDto.categoryIds();
+        if (categoryIds != null && categoryIds.length > 0) {
+            specification = specification.and(bookSpecificationProviderManager
+                    .getSpecificationProvider("category").getSpecification(Arrays.stream(
+                            categoryIds).map(String::valueOf).toArray(String[]::new)));
+        }
+
+        if (searchParametersDto.minPrice() != null || searchParametersDto.maxPrice() != null) {
+            specification = specification.and(bookSpecificationProviderManager
+                    .getSpecificationProvider("price").getSpecification(new String[]{
+                            Objects.toString(searchParametersDto.minPrice(), null),
+                            Objects.toString(searchParametersDto.maxPrice(), null)}));
+        }
+
         return specification;
     }
 }
@@ -4,20 +4,27 @@ import book.store.model.Book;
 import book.store.repository.SpecificationProvider;
 import book.store.repository.SpecificationProviderManager;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
-@RequiredArgsConstructor
 @Component
 public class BookSpecificationProviderManager implements SpecificationProviderManager<Book> {
     private static final String CANT_FIND_PROVIDER = "Can't find provider with key ";
-    private final List<SpecificationProvider<Book>> specificationProviders;
+    private final Map<String, SpecificationProvider<Book>> specificationProviders;
+
+    public BookSpecificationProviderManager(
+            List<SpecificationProvider<Book>> specificationProviders) {
+        this.specificationProviders = specificationProviders.stream()
+                .collect(Collectors.toUnmodifiableMap(SpecificationProvider::getKey,
+                        Function.identity()));
+    }
 
     @Override
     public SpecificationProvider<Book> getSpecificationProvider(String key) {
-        return specificationProviders.stream()
-                .filter(p -> p.getKey().equals(key))
-                .findFirst()
+        return Optional.ofNullable(specificationProviders.get(key))
                 .orElseThrow(() -> new RuntimeException(CANT_FIND_PROVIDER + key));
     }
 }
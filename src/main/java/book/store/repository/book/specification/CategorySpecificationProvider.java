@@ -0,0 +1,34 @@
+package book.store.repository.book.specification;
+
+import book.store.model.Book;
+import book.store.repository.SpecificationProvider;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.Arrays;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategorySpecificationProvider implements SpecificationProvider<Book> {
+    private static final String KEY = "category";
+    private static final String ID = "id";
+    private static final String CATEGORIES = "categories";
+
+    @Override
+    public String getKey() {
+        return KEY;
+    }
+
+    @Override
+    public Specification<Book> getSpecification(String[] params) {
+        return (root, query, criteriaBuilder) -> {
+            Subquery<Long> bookIds = query.subquery(Long.class);
+            Root<Book> book = bookIds.from(Book.class);
+            bookIds.select(book.get(ID))
+                    .where(book.join(CATEGORIES).get(ID).in(Arrays.stream(params)
+                            .map(Long::valueOf)
+                            .toArray()));
+            return root.get(ID).in(bookIds);
+        };
+    }
+}
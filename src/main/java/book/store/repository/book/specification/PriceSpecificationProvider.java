@@ -0,0 +1,40 @@
+package book.store.repository.book.specification;
+
+import book.store.model.Book;
+import book.store.model.Money;
+import book.store.repository.SpecificationProvider;
+import jakarta.persistence.criteria.Predicate;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Component
+public class PriceSpecificationProvider implements SpecificationProvider<Book> {
+    private static final String FIELD_NAME = "price";
+    private static final int MIN_PRICE_INDEX = 0;
+    private static final int MAX_PRICE_INDEX = 1;
+
+    @Override
+    public String getKey() {
+        return FIELD_NAME;
+    }
+
+    @Override
+    public Specification<Book> getSpecification(String[] params) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (StringUtils.hasText(params[MIN_PRICE_INDEX])) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get(FIELD_NAME),
+                        Money.of(new BigDecimal(params[MIN_PRICE_INDEX]))));
+            }
+            if (StringUtils.hasText(params[MAX_PRICE_INDEX])) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get(FIELD_NAME),
+                        Money.of(new BigDecimal(params[MAX_PRICE_INDEX]))));
+            }
+            return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
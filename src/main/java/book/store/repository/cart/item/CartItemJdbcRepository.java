@@ -0,0 +1,97 @@
+package book.store.repository.cart.item;
+
+import book.store.dto.cart.item.CartItemResponseDto;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class CartItemJdbcRepository {
+    private static final String INSERT_CART_ITEM = "INSERT INTO cart_items "
+            + "(shopping_cart_id, book_id, quantity) VALUES (?, ?, ?)";
+    private static final String UPDATE_QUANTITY =
+            "UPDATE cart_items SET quantity = ?, version = version + 1 WHERE id = ?";
+    private static final String DELETE_CART_ITEM = "DELETE FROM cart_items WHERE id = ?";
+    private static final String UPSERT_CART_ITEM = "INSERT INTO cart_items "
+            + "(shopping_cart_id, book_id, quantity) "
+            + "SELECT sc.user_id, b.id, ? FROM shopping_carts sc "
+            + "JOIN books b ON b.id = ? AND b.is_deleted = false "
+            + "WHERE sc.user_id = ? AND sc.is_deleted = false "
+            + "ON DUPLICATE KEY UPDATE cart_items.quantity = cart_items.quantity + ?, "
+            + "cart_items.version = cart_items.version + 1";
+    private static final String FIND_ALL_BY_SHOPPING_CART_ID = "SELECT ci.id, ci.book_id, "
+            + "b.title, ci.quantity FROM cart_items ci "
+            + "JOIN books b ON b.id = ci.book_id "
+            + "WHERE ci.shopping_cart_id = ?";
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> insertAll(List<CartItemRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_CART_ITEM,
+                Statement.RETURN_GENERATED_KEYS), new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i)
+                            throws SQLException {
+                        CartItemRow row = rows.get(i);
+                        statement.setLong(1, row.shoppingCartId());
+                        statement.setLong(2, row.bookId());
+                        statement.setInt(3, row.quantity());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(Map::values)
+                .map(keys -> ((Number) keys.iterator().next()).longValue())
+                .toList();
+    }
+
+    // Returns 0 when the cart or the book does not exist.
+    public int upsert(Long shoppingCartId, Long bookId, int quantity) {
+        return jdbcTemplate.update(UPSERT_CART_ITEM, quantity, bookId, shoppingCartId, quantity);
+    }
+
+    public List<CartItemResponseDto> findAllByShoppingCartId(Long shoppingCartId) {
+        return jdbcTemplate.query(FIND_ALL_BY_SHOPPING_CART_ID, (resultSet, rowNum) -> {
+            CartItemResponseDto cartItemDto = new CartItemResponseDto();
+            cartItemDto.setId(resultSet.getLong("id"));
+            cartItemDto.setBookId(resultSet.getLong("book_id"));
+            cartItemDto.setBookTitle(resultSet.getString("title"));
+            cartItemDto.setQuantity(resultSet.getInt("quantity"));
+            return cartItemDto;
+        }, shoppingCartId);
+    }
+
+    public void updateAll(List<CartItemRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_QUANTITY, rows, rows.size(), (statement, row) -> {
+            statement.setInt(1, row.quantity());
+            statement.setLong(2, row.id());
+        });
+    }
+
+    public void deleteAllById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_CART_ITEM, ids, ids.size(),
+                (statement, id) -> statement.setLong(1, id));
+    }
+}
@@ -0,0 +1,4 @@
+package book.store.repository.cart.item;
+
+public record CartItemRow(Long id, Long shoppingCartId, Long bookId, int quantity) {
+}
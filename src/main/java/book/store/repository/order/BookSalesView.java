@@ -0,0 +1,7 @@
+package book.store.repository.order;
+
+public interface BookSalesView {
+    Long getBookId();
+
+    Long getQuantity();
+}
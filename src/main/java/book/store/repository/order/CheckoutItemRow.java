@@ -0,0 +1,7 @@
+package book.store.repository.order;
+
+import book.store.model.Money;
+
+public record CheckoutItemRow(Long cartItemId, Long userId, Long bookId, int quantity,
+                              Money price) {
+}
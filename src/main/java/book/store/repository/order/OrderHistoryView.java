@@ -0,0 +1,17 @@
+package book.store.repository.order;
+
+import book.store.model.Money;
+import book.store.model.Order;
+import java.time.LocalDateTime;
+
+public interface OrderHistoryView {
+    Long getId();
+
+    Long getUserId();
+
+    LocalDateTime getOrderDate();
+
+    Money getTotal();
+
+    Order.Status getStatus();
+}
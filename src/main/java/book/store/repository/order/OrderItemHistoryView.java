@@ -0,0 +1,11 @@
+package book.store.repository.order;
+
+public interface OrderItemHistoryView {
+    Long getId();
+
+    Long getOrderId();
+
+    Long getBookId();
+
+    int getQuantity();
+}
@@ -1,10 +1,13 @@
 package book.store.repository.order;
 
 import book.store.model.OrderItem;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -12,4 +15,13 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findAllByOrderId(Long orderId, Pageable pageable);
     
     Optional<OrderItem> findByIdAndOrderId(Long itemId, Long orderId);
+
+    @Query("SELECT oi.book.id AS bookId, SUM(oi.quantity) AS quantity "
+            + "FROM OrderItem oi GROUP BY oi.book.id")
+    List<BookSalesView> findBookSales();
+
+    @Query("SELECT oi.id AS id, oi.order.id AS orderId, oi.book.id AS bookId, "
+            + "oi.quantity AS quantity FROM OrderItem oi WHERE oi.order.id IN :orderIds")
+    List<OrderItemHistoryView> findHistoryByOrderIds(
+            @Param("orderIds") Collection<Long> orderIds);
 } 
@@ -0,0 +1,6 @@
+package book.store.repository.order;
+
+import book.store.model.Money;
+
+public record OrderItemRow(Long orderId, Long bookId, int quantity, Money price) {
+}
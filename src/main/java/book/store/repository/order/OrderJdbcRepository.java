@@ -0,0 +1,91 @@
+package book.store.repository.order;
+
+import book.store.model.Money;
+import book.store.model.Order;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class OrderJdbcRepository {
+    private static final String FIND_CHECKOUT_ITEMS = "SELECT ci.id, ci.shopping_cart_id, "
+            + "ci.book_id, ci.quantity, b.price FROM cart_items ci "
+            + "JOIN books b ON b.id = ci.book_id "
+            + "WHERE ci.shopping_cart_id IN (:shoppingCartIds) ORDER BY ci.id "
+            + "FOR UPDATE OF ci";
+    private static final String INSERT_ORDER = "INSERT INTO orders "
+            + "(user_id, status, total, order_date, shipping_address) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER_ITEM = "INSERT INTO order_items "
+            + "(order_id, book_id, quantity, price) VALUES (?, ?, ?, ?)";
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Reads the cart items of the given carts with current book prices and locks the cart item
+     * rows until the transaction ends.
+     */
+    public List<CheckoutItemRow> findCheckoutItemsForUpdate(Collection<Long> shoppingCartIds) {
+        return namedParameterJdbcTemplate.query(FIND_CHECKOUT_ITEMS,
+                Map.of("shoppingCartIds", shoppingCartIds),
+                (resultSet, rowNum) -> new CheckoutItemRow(
+                        resultSet.getLong("id"),
+                        resultSet.getLong("shopping_cart_id"),
+                        resultSet.getLong("book_id"),
+                        resultSet.getInt("quantity"),
+                        Money.of(resultSet.getBigDecimal("price"))));
+    }
+
+    public List<Long> insertOrders(List<OrderRow> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_ORDER,
+                Statement.RETURN_GENERATED_KEYS), new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i)
+                            throws SQLException {
+                        OrderRow order = orders.get(i);
+                        statement.setLong(1, order.userId());
+                        statement.setString(2, Order.Status.PENDING.name());
+                        statement.setBigDecimal(3, order.total().toBigDecimal());
+                        statement.setTimestamp(4, Timestamp.valueOf(order.orderDate()));
+                        statement.setString(5, order.shippingAddress());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return orders.size();
+                    }
+                }, keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(Map::values)
+                .map(keys -> ((Number) keys.iterator().next()).longValue())
+                .toList();
+    }
+
+    public void insertOrderItems(List<OrderItemRow> orderItems) {
+        if (orderItems.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, orderItems, orderItems.size(),
+                (statement, orderItem) -> {
+                    statement.setLong(1, orderItem.orderId());
+                    statement.setLong(2, orderItem.bookId());
+                    statement.setInt(3, orderItem.quantity());
+                    statement.setBigDecimal(4, orderItem.price().toBigDecimal());
+                });
+    }
+}
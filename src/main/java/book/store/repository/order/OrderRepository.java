@@ -4,9 +4,14 @@ import book.store.model.Order;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findAllByUserId(Long userId, Pageable pageable);
+    @Query("SELECT o.id AS id, o.user.id AS userId, o.orderDate AS orderDate, "
+            + "o.total AS total, o.status AS status FROM Order o WHERE o.user.id = :userId")
+    List<OrderHistoryView> findHistoryByUserId(@Param("userId") Long userId,
+                                               Pageable pageable);
 } 
@@ -0,0 +1,8 @@
+package book.store.repository.order;
+
+import book.store.model.Money;
+import java.time.LocalDateTime;
+
+public record OrderRow(Long userId, Money total, LocalDateTime orderDate,
+                       String shippingAddress) {
+}
@@ -0,0 +1,20 @@
+package book.store.repository.shopping.cart;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.util.List;
+
+// One-letter property names keep the stored items_document small.
+public record CartDocument(
+        @JsonProperty("n") long nextItemId,
+        @JsonProperty("i") List<Item> items
+) {
+    public record Item(
+            @JsonProperty("i") long id,
+            @JsonProperty("b") long bookId,
+            @JsonProperty("t") String title,
+            @JsonProperty("p") BigDecimal price,
+            @JsonProperty("q") int quantity
+    ) {
+    }
+}
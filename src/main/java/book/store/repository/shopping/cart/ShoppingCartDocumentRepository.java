@@ -0,0 +1,75 @@
+package book.store.repository.shopping.cart;
+
+import book.store.exception.DataProcessingException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class ShoppingCartDocumentRepository {
+    private static final String FIND_BY_USER_ID = "SELECT version, items_document "
+            + "FROM shopping_carts WHERE user_id = ? AND is_deleted = false";
+    private static final String UPDATE_DOCUMENT = "UPDATE shopping_carts "
+            + "SET items_document = ?, version = version + 1 "
+            + "WHERE user_id = ? AND version = ? AND is_deleted = false";
+    private static final String FIND_ITEMS_BY_SHOPPING_CART_ID = "SELECT ci.id, ci.book_id, "
+            + "b.title, b.price, ci.quantity FROM cart_items ci "
+            + "JOIN books b ON b.id = ci.book_id "
+            + "WHERE ci.shopping_cart_id = ? ORDER BY ci.id";
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // The document is null while the items still live in cart_items.
+    public Optional<CartDocumentRow> findByUserId(Long userId) {
+        return jdbcTemplate.query(FIND_BY_USER_ID, (resultSet, rowNum) -> new CartDocumentRow(
+                resultSet.getLong("version"),
+                read(resultSet.getString("items_document"))), userId)
+                .stream()
+                .findFirst();
+    }
+
+    public boolean update(Long userId, long version, CartDocument document) {
+        return jdbcTemplate.update(UPDATE_DOCUMENT, write(document), userId, version) == 1;
+    }
+
+    public List<CartDocument.Item> findItemRowsByShoppingCartId(Long shoppingCartId) {
+        return jdbcTemplate.query(FIND_ITEMS_BY_SHOPPING_CART_ID,
+                (resultSet, rowNum) -> new CartDocument.Item(
+                        resultSet.getLong("id"),
+                        resultSet.getLong("book_id"),
+                        resultSet.getString("title"),
+                        resultSet.getBigDecimal("price"),
+                        resultSet.getInt("quantity")),
+                shoppingCartId);
+    }
+
+    private CartDocument read(String document) {
+        if (document == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(document, CartDocument.class);
+        } catch (JsonProcessingException e) {
+            throw new DataProcessingException("Can't read cart document", e);
+        }
+    }
+
+    private String write(CartDocument document) {
+        if (document == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new DataProcessingException("Can't write cart document", e);
+        }
+    }
+
+    public record CartDocumentRow(long version, CartDocument document) {
+    }
+}
@@ -1,13 +1,37 @@
 package book.store.repository.shopping.cart;
 
 import book.store.model.ShoppingCart;
+import jakarta.persistence.LockModeType;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {
     @EntityGraph(attributePaths = {"cartItems", "cartItems.book"})
     Optional<ShoppingCart> findByUserId(Long id);
+
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @EntityGraph(attributePaths = {"cartItems", "cartItems.book"})
+    Optional<ShoppingCart> findForWriteByUserId(Long id);
+
+    // The cart id is the user id, so this is a no-op for users who already have a cart.
+    @Modifying
+    @Query(value = "INSERT INTO shopping_carts (id, user_id) VALUES (:userId, :userId) "
+            + "ON DUPLICATE KEY UPDATE id = id", nativeQuery = true)
+    void createIfMissing(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE ShoppingCart sc SET sc.version = sc.version + 1 WHERE sc.id = :id")
+    int incrementVersion(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE ShoppingCart sc SET sc.version = sc.version + 1 "
+            + "WHERE sc.id = :id AND sc.version = :version")
+    int incrementVersion(@Param("id") Long id, @Param("version") Long version);
 }
@@ -0,0 +1,11 @@
+package book.store.service.book;
+
+import book.store.dto.book.BookDto;
+import book.store.storage.CoverImage;
+import java.io.InputStream;
+
+public interface BookCoverService {
+    BookDto uploadCover(Long id, InputStream inputStream);
+
+    CoverImage getCover(Long id, Integer width);
+}
@@ -0,0 +1,8 @@
+package book.store.service.book;
+
+import book.store.dto.book.BookExportFormat;
+import java.io.OutputStream;
+
+public interface BookExportService {
+    void exportBooks(OutputStream outputStream, BookExportFormat format);
+}
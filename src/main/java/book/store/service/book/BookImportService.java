@@ -0,0 +1,9 @@
+package book.store.service.book;
+
+import book.store.dto.book.BookImportResultDto;
+import java.io.InputStream;
+import org.springframework.http.MediaType;
+
+public interface BookImportService {
+    BookImportResultDto importBooks(InputStream inputStream, MediaType mediaType);
+}
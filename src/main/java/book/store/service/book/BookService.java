@@ -1,18 +1,28 @@
 package book.store.service.book;
 
+import book.store.dto.book.BookBatchDto;
+import book.store.dto.book.BookCategoryFilterDto;
 import book.store.dto.book.BookDto;
 import book.store.dto.book.BookDtoWithoutCategoryIds;
 import book.store.dto.book.BookSearchParametersDto;
+import book.store.dto.book.BookSearchResultDto;
+import book.store.dto.book.BookSuggestionDto;
 import book.store.dto.book.CreateBookRequestDto;
+import book.store.dto.page.CursorPageDto;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface BookService {
     BookDto save(CreateBookRequestDto book);
 
     BookDto getBookDtoById(Long id);
 
-    List<BookDto> getAll(Pageable pageable);
+    BookBatchDto getAllByIds(List<Long> ids);
+
+    Slice<BookDto> getAll(Pageable pageable);
+
+    CursorPageDto<BookDto> getAll(String cursor, String sortField, int size);
 
     BookDto updateById(Long id, CreateBookRequestDto bookDto);
 
@@ -20,5 +30,15 @@ public interface BookService {
 
     List<BookDto> search(BookSearchParametersDto bookSearchParametersDto, Pageable pageable);
 
+    BookSearchResultDto searchWithFacets(BookSearchParametersDto bookSearchParametersDto,
+                                         Pageable pageable);
+
+    List<BookDto> filterByCategories(BookCategoryFilterDto filter, Pageable pageable);
+
     List<BookDtoWithoutCategoryIds> getBooksByCategoryId(Long id, Pageable pageable);
+
+    CursorPageDto<BookDtoWithoutCategoryIds> getBooksByCategoryId(Long id, String cursor,
+                                                                  String sortField, int size);
+
+    List<BookSuggestionDto> suggest(String prefix, int limit);
 }
@@ -0,0 +1,52 @@
+package book.store.service.book.impl;
+
+import book.store.catalog.CatalogChangedEvent;
+import book.store.dto.book.BookDto;
+import book.store.exception.EntityNotFoundException;
+import book.store.mapper.BookMapper;
+import book.store.model.Book;
+import book.store.repository.book.BookRepository;
+import book.store.service.book.BookCoverService;
+import book.store.storage.CoverImage;
+import book.store.storage.CoverImageStore;
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+@Service
+public class BookCoverServiceImpl implements BookCoverService {
+    private static final String BOOK_NOT_FOUND = "Book not found by id: ";
+    private static final String COVER_NOT_FOUND = "Cover image not found for book id: ";
+    private static final String BOOKS_CACHE = "books";
+    private static final String COVER_URL = "/books/%d/cover?v=%s";
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final CoverImageStore coverImageStore;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @CacheEvict(cacheNames = BOOKS_CACHE, key = "#id")
+    @Transactional
+    @Override
+    public BookDto uploadCover(Long id, InputStream inputStream) {
+        Book book = bookRepository.findById(id).orElseThrow(
+                () -> new EntityNotFoundException(BOOK_NOT_FOUND + id));
+        String key = coverImageStore.store(inputStream);
+        book.setCoverImageKey(key);
+        book.setCoverImage(COVER_URL.formatted(id, key));
+        Book updatedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+        return bookMapper.toDto(updatedBook);
+    }
+
+    @Override
+    public CoverImage getCover(Long id, Integer width) {
+        String key = bookRepository.findCoverImageKeyById(id).orElseThrow(
+                () -> new EntityNotFoundException(COVER_NOT_FOUND + id));
+        return width == null ? coverImageStore.find(key)
+                : coverImageStore.findThumbnail(key, width);
+    }
+}
@@ -0,0 +1,82 @@
+package book.store.service.book.impl;
+
+import book.store.dto.book.BookDto;
+import book.store.dto.book.BookExportFormat;
+import book.store.exception.DataProcessingException;
+import book.store.repository.book.BookJdbcRepository;
+import book.store.service.book.BookExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@RequiredArgsConstructor
+@Service
+public class BookExportServiceImpl implements BookExportService {
+    private static final String CSV_HEADER =
+            "id,title,author,isbn,price,description,coverImage,categoryIds";
+    private static final String CATEGORY_IDS_SEPARATOR = "|";
+    private static final String CAN_T_WRITE_EXPORT = "Can't write book export stream";
+    private final BookJdbcRepository bookJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void exportBooks(OutputStream outputStream, BookExportFormat format) {
+        try {
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (format == BookExportFormat.CSV) {
+                writeLine(writer, CSV_HEADER);
+            }
+            bookJdbcRepository.streamAll(bookDto -> writeLine(writer,
+                    format == BookExportFormat.CSV ? toCsv(bookDto) : toJson(bookDto)));
+            writer.flush();
+        } catch (IOException e) {
+            throw new DataProcessingException(CAN_T_WRITE_EXPORT, e);
+        }
+    }
+
+    private String toJson(BookDto bookDto) {
+        try {
+            return objectMapper.writeValueAsString(bookDto);
+        } catch (IOException e) {
+            throw new DataProcessingException(CAN_T_WRITE_EXPORT, e);
+        }
+    }
+
+    private static String toCsv(BookDto bookDto) {
+        String categoryIds = bookDto.getCategoryIds().stream()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(CATEGORY_IDS_SEPARATOR));
+        return Stream.of(bookDto.getId(), bookDto.getTitle(), bookDto.getAuthor(),
+                        bookDto.getIsbn(), bookDto.getPrice(), bookDto.getDescription(),
+                        bookDto.getCoverImage(), categoryIds)
+                .map(value -> escapeCsv(Objects.toString(value, "")))
+                .collect(Collectors.joining(","));
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.chars().noneMatch(character -> ",\"\r\n".indexOf(character) >= 0)) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static void writeLine(Writer writer, String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new DataProcessingException(CAN_T_WRITE_EXPORT, e);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package book.store.service.book.impl;
+
+import book.store.catalog.CatalogChangedEvent;
+import book.store.dto.book.BookImportErrorDto;
+import book.store.dto.book.BookImportResultDto;
+import book.store.dto.book.CreateBookRequestDto;
+import book.store.exception.DataProcessingException;
+import book.store.index.BookIndexManager;
+import book.store.repository.book.BookJdbcRepository;
+import book.store.repository.book.BookRepository;
+import book.store.service.book.BookImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@RequiredArgsConstructor
+@Service
+public class BookImportServiceImpl implements BookImportService {
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String CATEGORY_IDS_SEPARATOR = "\\|";
+    private static final String CAN_T_READ_IMPORT = "Can't read book import stream";
+    private static final String MALFORMED_ROW = "Malformed row: ";
+    private static final String BOOK_ALREADY_EXISTS = "Book already exists by isbn: ";
+    private static final String DUPLICATE_ISBN = "Duplicate isbn in import: ";
+    private static final String CATEGORY_NOT_FOUND = "Category not found by id: ";
+    private final BookJdbcRepository bookJdbcRepository;
+    private final BookRepository bookRepository;
+    private final BookIndexManager bookIndexManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public BookImportResultDto importBooks(InputStream inputStream, MediaType mediaType) {
+        Charset charset = Optional.ofNullable(mediaType.getCharset())
+                .orElse(StandardCharsets.UTF_8);
+        ImportSession session = new ImportSession();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(inputStream, charset))) {
+            if (MediaType.APPLICATION_NDJSON.isCompatibleWith(mediaType)) {
+                readNdjson(reader, session);
+            } else {
+                readCsv(reader, session);
+            }
+        } catch (IOException e) {
+            throw new DataProcessingException(CAN_T_READ_IMPORT, e);
+        }
+        return session.finish();
+    }
+
+    private void readNdjson(BufferedReader reader, ImportSession session) throws IOException {
+        long row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+            try {
+                session.accept(row, objectMapper.readValue(line, CreateBookRequestDto.class));
+            } catch (JsonProcessingException e) {
+                session.fail(row, MALFORMED_ROW + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportSession session) throws IOException {
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        long row = 0;
+        List<String> values;
+        while ((values = readCsvRecord(reader)) != null) {
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            row++;
+            try {
+                session.accept(row, toRequestDto(columns, values));
+            } catch (IllegalArgumentException e) {
+                session.fail(row, MALFORMED_ROW + e.getMessage());
+            }
+        }
+    }
+
+    private static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        int character = reader.read();
+        if (character == -1) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (character != -1) {
+            if (quoted) {
+                if (character != '"') {
+                    value.append((char) character);
+                } else {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        value.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                }
+            } else if (character == '"') {
+                quoted = true;
+            } else if (character == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (character == '\n') {
+                break;
+            } else if (character != '\r') {
+                value.append((char) character);
+            }
+            character = reader.read();
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static CreateBookRequestDto toRequestDto(Map<String, Integer> columns,
+                                                     List<String> values) {
+        CreateBookRequestDto requestDto = new CreateBookRequestDto();
+        requestDto.setTitle(getValue(columns, values, "title"));
+        requestDto.setAuthor(getValue(columns, values, "author"));
+        requestDto.setIsbn(getValue(columns, values, "isbn"));
+        String price = getValue(columns, values, "price");
+        requestDto.setPrice(price == null ? null : new BigDecimal(price));
+        requestDto.setDescription(getValue(columns, values, "description"));
+        requestDto.setCoverImage(getValue(columns, values, "coverImage"));
+        String categoryIds = getValue(columns, values, "categoryIds");
+        requestDto.setCategoryIds(categoryIds == null ? Set.of()
+                : Arrays.stream(categoryIds.split(CATEGORY_IDS_SEPARATOR))
+                        .map(String::trim)
+                        .filter(id -> !id.isEmpty())
+                        .map(Long::valueOf)
+                        .collect(Collectors.toSet()));
+        return requestDto;
+    }
+
+    private static String getValue(Map<String, Integer> columns, List<String> values,
+                                   String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private record ImportRow(long number, CreateBookRequestDto book) {
+    }
+
+    private class ImportSession {
+        private final List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<BookImportErrorDto> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        private void accept(long row, CreateBookRequestDto requestDto) {
+            Set<ConstraintViolation<CreateBookRequestDto>> violations =
+                    validator.validate(requestDto);
+            if (!violations.isEmpty()) {
+                fail(row, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " "
+                                + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                return;
+            }
+            chunk.add(new ImportRow(row, requestDto));
+            if (chunk.size() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        private void fail(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BookImportErrorDto(row, message));
+            }
+        }
+
+        private BookImportResultDto finish() {
+            flush();
+            errors.sort(Comparator.comparingLong(BookImportErrorDto::row));
+            if (imported > 0) {
+                eventPublisher.publishEvent(new CatalogChangedEvent());
+            }
+            return new BookImportResultDto(imported, failed, errors);
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            Set<String> existingIsbns = bookJdbcRepository.findExistingIsbns(chunk.stream()
+                    .map(row -> row.book().getIsbn())
+                    .toList());
+            Set<Long> existingCategoryIds = bookJdbcRepository.findExistingCategoryIds(
+                    chunk.stream()
+                            .flatMap(row -> row.book().getCategoryIds().stream())
+                            .collect(Collectors.toSet()));
+            Set<String> chunkIsbns = new HashSet<>();
+            List<ImportRow> rows = new ArrayList<>();
+            for (ImportRow row : chunk) {
+                String isbn = row.book().getIsbn();
+                Optional<Long> missingCategoryId = row.book().getCategoryIds().stream()
+                        .filter(categoryId -> !existingCategoryIds.contains(categoryId))
+                        .findFirst();
+                if (existingIsbns.contains(isbn)) {
+                    fail(row.number(), BOOK_ALREADY_EXISTS + isbn);
+                } else if (!chunkIsbns.add(isbn)) {
+                    fail(row.number(), DUPLICATE_ISBN + isbn);
+                } else if (missingCategoryId.isPresent()) {
+                    fail(row.number(), CATEGORY_NOT_FOUND + missingCategoryId.get());
+                } else {
+                    rows.add(row);
+                }
+            }
+            chunk.clear();
+            List<String> savedIsbns = save(rows);
+            if (!savedIsbns.isEmpty()) {
+                bookIndexManager.index(bookRepository.findAllByIsbnIn(savedIsbns));
+            }
+        }
+
+        private List<String> save(List<ImportRow> rows) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> bookJdbcRepository.saveAll(
+                        rows.stream().map(ImportRow::book).toList()));
+                imported += rows.size();
+                return rows.stream().map(row -> row.book().getIsbn()).toList();
+            } catch (DataAccessException e) {
+                return saveOneByOne(rows);
+            }
+        }
+
+        private List<String> saveOneByOne(List<ImportRow> rows) {
+            List<String> savedIsbns = new ArrayList<>();
+            for (ImportRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(
+                            status -> bookJdbcRepository.saveAll(List.of(row.book())));
+                    imported++;
+                    savedIsbns.add(row.book().getIsbn());
+                } catch (DataAccessException e) {
+                    fail(row.number(), e.getMostSpecificCause().getMessage());
+                }
+            }
+            return savedIsbns;
+        }
+    }
+}
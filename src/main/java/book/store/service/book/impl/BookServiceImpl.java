@@ -1,46 +1,132 @@
 package book.store.service.book.impl;
 
+import book.store.catalog.CatalogChangedEvent;
+import book.store.catalog.CatalogSnapshot;
+import book.store.catalog.CatalogSnapshotManager;
+import book.store.dto.book.BookBatchDto;
+import book.store.dto.book.BookCategoryFilterDto;
 import book.store.dto.book.BookDto;
 import book.store.dto.book.BookDtoWithoutCategoryIds;
 import book.store.dto.book.BookSearchParametersDto;
+import book.store.dto.book.BookSearchResultDto;
+import book.store.dto.book.BookSuggestionDto;
 import book.store.dto.book.CreateBookRequestDto;
+import book.store.dto.page.CursorPageDto;
 import book.store.exception.EntityNotFoundException;
+import book.store.exception.InvalidRequestParameterException;
+import book.store.index.BookCategoryIndex;
+import book.store.index.BookChangedEvent;
+import book.store.index.BookRemovedEvent;
+import book.store.index.BookSuggestionIndex;
+import book.store.index.BookTextIndex;
+import book.store.index.BookTrigramIndex;
 import book.store.mapper.BookMapper;
 import book.store.model.Book;
+import book.store.repository.book.BookCategoryView;
+import book.store.repository.book.BookCursor;
 import book.store.repository.book.BookRepository;
 import book.store.repository.book.BookSpecificationBuilder;
 import book.store.service.book.BookService;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 @RequiredArgsConstructor
 @Service
 public class BookServiceImpl implements BookService {
     private static final String BOOK_NOT_FOUND = "Book not found by id: ";
+    private static final String BOOKS_CACHE = "books";
+    private static final String INVALID_PAGE_SIZE = "Page size must be between 1 and ";
+    private static final String TOO_MANY_IDS = "Number of ids must not exceed ";
+    private static final String INVALID_SUGGESTION_LIMIT =
+            "Suggestion limit must be between 1 and ";
+    private static final int MAX_TEXT_SEARCH_RESULTS = 1000;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int MAX_FACET_VALUES = 20;
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final BookSpecificationBuilder bookSpecificationBuilder;
+    private final BookTextIndex bookTextIndex;
+    private final BookTrigramIndex bookTrigramIndex;
+    private final BookSuggestionIndex bookSuggestionIndex;
+    private final BookCategoryIndex bookCategoryIndex;
+    private final CatalogSnapshotManager catalogSnapshotManager;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     @Override
     public BookDto save(CreateBookRequestDto requestDto) {
-        Book book = bookMapper.toModel(requestDto);
-        return bookMapper.toDto(bookRepository.save(book));
+        Book book = bookRepository.save(bookMapper.toModel(requestDto));
+        eventPublisher.publishEvent(new BookChangedEvent(book));
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+        return bookMapper.toDto(book);
     }
 
+    @Cacheable(cacheNames = BOOKS_CACHE, key = "#id")
     @Override
     public BookDto getBookDtoById(Long id) {
-        return bookMapper.toDto(getBookById(id));
+        return catalogSnapshotManager.getSnapshot()
+                .flatMap(snapshot -> snapshot.findBook(id))
+                .orElseGet(() -> bookMapper.toDto(getBookById(id)));
+    }
+
+    @Override
+    public BookBatchDto getAllByIds(List<Long> ids) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        if (requestedIds.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestParameterException(TOO_MANY_IDS + MAX_BATCH_SIZE);
+        }
+        Map<Long, Book> booksById = bookRepository.findAllById(requestedIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<Book> books = requestedIds.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        List<Long> missingIds = requestedIds.stream()
+                .filter(id -> !booksById.containsKey(id))
+                .toList();
+        return new BookBatchDto(toDtoList(books), missingIds);
+    }
+
+    @Override
+    public Slice<BookDto> getAll(Pageable pageable) {
+        return catalogSnapshotManager.getSnapshot()
+                .filter(snapshot -> CatalogSnapshot.supports(pageable))
+                .map(snapshot -> snapshot.findBooks(pageable))
+                .orElseGet(() -> toDtoSlice(bookRepository.findAllBy(pageable)));
     }
 
     @Override
-    public List<BookDto> getAll(Pageable pageable) {
-        return bookMapper.toDtoList(bookRepository.findAll(pageable));
+    public CursorPageDto<BookDto> getAll(String cursor, String sortField, int size) {
+        BookCursor bookCursor = BookCursor.decode(cursor, sortField);
+        List<Book> books = findAllAfter(bookCursor, Specification.where(null), size);
+        return new CursorPageDto<>(toDtoList(books.stream().limit(size).toList()),
+                nextCursor(books, bookCursor, size));
     }
 
+    @CachePut(cacheNames = BOOKS_CACHE, key = "#id")
     @Override
     public BookDto updateById(Long id, CreateBookRequestDto bookDto) {
         Book bookToUpdate = getBookById(id);
@@ -50,15 +136,21 @@ public class BookServiceImpl implements BookService {
         bookToUpdate.setDescription(bookDto.getDescription());
         bookToUpdate.setCoverImage(bookDto.getCoverImage());
 
-        return bookMapper.toDto(bookRepository.save(bookToUpdate));
+        Book updatedBook = bookRepository.save(bookToUpdate);
+        eventPublisher.publishEvent(new BookChangedEvent(updatedBook));
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+        return bookMapper.toDto(updatedBook);
     }
 
+    @CacheEvict(cacheNames = BOOKS_CACHE, key = "#id")
     @Transactional
     @Override
     public BookDto deleteById(Long id) {
         Book bookToDelete = getBookById(id);
         bookRepository.delete(bookToDelete);
         bookToDelete.setDeleted(true);
+        eventPublisher.publishEvent(new BookRemovedEvent(id));
+        eventPublisher.publishEvent(new CatalogChangedEvent());
 
         return bookMapper.toDto(bookToDelete);
     }
@@ -66,13 +158,149 @@ public class BookServiceImpl implements BookService {
     @Override
     public List<BookDto> search(BookSearchParametersDto params, Pageable pageable) {
         Specification<Book> bookSpecification = bookSpecificationBuilder.build(params);
-        return bookMapper.toDtoList(bookRepository.findAll(bookSpecification, pageable));
+        if (StringUtils.hasText(params.query())) {
+            return searchByText(rank(params), bookSpecification, pageable);
+        }
+        return toDtoList(bookRepository.findSlice(bookSpecification, pageable).getContent());
+    }
+
+    @Override
+    public BookSearchResultDto searchWithFacets(BookSearchParametersDto params,
+                                                Pageable pageable) {
+        Specification<Book> bookSpecification = bookSpecificationBuilder.build(params);
+        if (!StringUtils.hasText(params.query())) {
+            return new BookSearchResultDto(search(params, pageable),
+                    bookRepository.countByCategoryId(bookSpecification, MAX_FACET_VALUES),
+                    bookRepository.countByAuthor(bookSpecification, MAX_FACET_VALUES));
+        }
+        List<Long> rankedIds = rank(params);
+        if (rankedIds.isEmpty()) {
+            return new BookSearchResultDto(List.of(), Map.of(), Map.of());
+        }
+        Specification<Book> facetSpecification = bookSpecification.and(idIn(rankedIds));
+        return new BookSearchResultDto(searchByText(rankedIds, bookSpecification, pageable),
+                bookRepository.countByCategoryId(facetSpecification, MAX_FACET_VALUES),
+                bookRepository.countByAuthor(facetSpecification, MAX_FACET_VALUES));
+    }
+
+    @Override
+    public List<BookDto> filterByCategories(BookCategoryFilterDto filter, Pageable pageable) {
+        if (pageable.getPageSize() > MAX_PAGE_SIZE) {
+            throw new InvalidRequestParameterException(INVALID_PAGE_SIZE + MAX_PAGE_SIZE);
+        }
+        List<Long> pageIds = bookCategoryIndex.filter(toList(filter.all()),
+                toList(filter.any()), toList(filter.none()),
+                pageable.getOffset(), pageable.getPageSize());
+        return toDtoList(findAllInOrder(pageIds));
     }
 
     @Override
     public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(Long id, Pageable pageable) {
-        return bookMapper.toBookDtoWithoutCategoryIdsList(
-                bookRepository.findAllBooksByCategoryId(id, pageable));
+        return catalogSnapshotManager.getSnapshot()
+                .filter(snapshot -> CatalogSnapshot.supports(pageable))
+                .map(snapshot -> snapshot.findBooksByCategoryId(id, pageable))
+                .orElseGet(() -> bookMapper.toBookDtoWithoutCategoryIdsList(
+                        bookRepository.findAllBooksByCategoryId(id, pageable)));
+    }
+
+    @Override
+    public CursorPageDto<BookDtoWithoutCategoryIds> getBooksByCategoryId(Long id, String cursor,
+                                                                         String sortField,
+                                                                         int size) {
+        BookCursor bookCursor = BookCursor.decode(cursor, sortField);
+        List<Book> books = findAllAfter(bookCursor, inCategory(id), size);
+        return new CursorPageDto<>(
+                bookMapper.toBookDtoWithoutCategoryIdsList(books.stream().limit(size).toList()),
+                nextCursor(books, bookCursor, size));
+    }
+
+    @Override
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > BookSuggestionIndex.MAX_SUGGESTIONS) {
+            throw new InvalidRequestParameterException(
+                    INVALID_SUGGESTION_LIMIT + BookSuggestionIndex.MAX_SUGGESTIONS);
+        }
+        return bookSuggestionIndex.suggest(prefix, limit);
+    }
+
+    private List<Long> rank(BookSearchParametersDto params) {
+        if (Boolean.TRUE.equals(params.fuzzy())) {
+            return bookTrigramIndex.search(params.query(), MAX_TEXT_SEARCH_RESULTS);
+        }
+        return bookTextIndex.search(params.query(), MAX_TEXT_SEARCH_RESULTS);
+    }
+
+    private List<BookDto> searchByText(List<Long> rankedIds, Specification<Book> specification,
+                                       Pageable pageable) {
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> matchingIds = new HashSet<>(
+                bookRepository.findIds(specification.and(idIn(rankedIds))));
+        List<Long> pageIds = rankedIds.stream()
+                .filter(matchingIds::contains)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return toDtoList(findAllInOrder(pageIds));
+    }
+
+    private List<Book> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> positions = IntStream.range(0, ids.size())
+                .boxed()
+                .collect(Collectors.toMap(ids::get, Function.identity()));
+        return bookRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(book -> positions.get(book.getId())))
+                .toList();
+    }
+
+    private Slice<BookDto> toDtoSlice(Slice<Book> books) {
+        return new SliceImpl<>(toDtoList(books.getContent()), books.getPageable(),
+                books.hasNext());
+    }
+
+    private List<BookDto> toDtoList(List<Book> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Set<Long>> categoryIds = bookRepository.findCategoryIdsByBookIds(
+                        books.stream().map(Book::getId).toList()).stream()
+                .collect(Collectors.groupingBy(BookCategoryView::getBookId,
+                        Collectors.mapping(BookCategoryView::getCategoryId,
+                                Collectors.toSet())));
+        return bookMapper.toDtoList(books, categoryIds);
+    }
+
+    private List<Book> findAllAfter(BookCursor bookCursor, Specification<Book> specification,
+                                    int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestParameterException(INVALID_PAGE_SIZE + MAX_PAGE_SIZE);
+        }
+        return bookRepository.findAllAfter(specification.and(bookCursor.toSpecification()),
+                bookCursor.toSort(), size + 1);
+    }
+
+    private static String nextCursor(List<Book> books, BookCursor bookCursor, int size) {
+        if (books.size() <= size) {
+            return null;
+        }
+        return BookCursor.after(books.get(size - 1), bookCursor.sortField()).encode();
+    }
+
+    private static Specification<Book> inCategory(Long categoryId) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.join("categories").get("id"), categoryId);
+    }
+
+    private static List<Long> toList(Long[] ids) {
+        return ids == null ? List.of() : Arrays.asList(ids);
+    }
+
+    private static Specification<Book> idIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
     }
 
     private Book getBookById(Long id) {
@@ -2,14 +2,16 @@ package book.store.service.category;
 
 import book.store.dto.category.CategoryDto;
 import book.store.dto.category.CreateCategoryRequestDto;
-import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface CategoryService {
-    List<CategoryDto> getAll(Pageable pageable);
+    Slice<CategoryDto> getAll(Pageable pageable);
 
     CategoryDto getById(Long id);
 
+    Long getVersionById(Long id);
+
     CategoryDto save(CreateCategoryRequestDto categoryRequestDto);
 
     CategoryDto update(Long id, CreateCategoryRequestDto categoryRequestDto);
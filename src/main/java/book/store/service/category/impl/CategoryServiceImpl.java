@@ -1,15 +1,21 @@
 package book.store.service.category.impl;
 
+import book.store.catalog.CatalogChangedEvent;
+import book.store.catalog.CatalogSnapshot;
+import book.store.catalog.CatalogSnapshotManager;
 import book.store.dto.category.CategoryDto;
 import book.store.dto.category.CreateCategoryRequestDto;
 import book.store.exception.EntityNotFoundException;
+import book.store.index.BookCategoryIndex;
 import book.store.mapper.CategoryMapper;
 import book.store.model.Category;
 import book.store.repository.category.CategoryRepository;
 import book.store.service.category.CategoryService;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
@@ -18,21 +24,43 @@ public class CategoryServiceImpl implements CategoryService {
     public static final String CATEGORY_NOT_FOUND_BY_ID = "Category not found by id: ";
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final CatalogSnapshotManager catalogSnapshotManager;
+    private final BookCategoryIndex bookCategoryIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    public List<CategoryDto> getAll(Pageable pageable) {
-        return categoryMapper.toDtoList(categoryRepository.findAll(pageable));
+    public Slice<CategoryDto> getAll(Pageable pageable) {
+        return catalogSnapshotManager.getSnapshot()
+                .filter(snapshot -> CatalogSnapshot.supports(pageable))
+                .map(snapshot -> snapshot.findCategories(pageable))
+                .orElseGet(() -> {
+                    Slice<Category> categories = categoryRepository.findAllBy(pageable);
+                    return new SliceImpl<>(categoryMapper.toDtoList(categories.getContent()),
+                            pageable, categories.hasNext());
+                });
     }
 
     @Override
     public CategoryDto getById(Long id) {
-        return categoryMapper.toDto(getCategory(id));
+        return catalogSnapshotManager.getSnapshot()
+                .flatMap(snapshot -> snapshot.findCategory(id))
+                .orElseGet(() -> categoryMapper.toDto(getCategory(id)));
+    }
+
+    @Override
+    public Long getVersionById(Long id) {
+        return catalogSnapshotManager.getSnapshot()
+                .flatMap(snapshot -> snapshot.findCategory(id))
+                .map(CategoryDto::version)
+                .or(() -> categoryRepository.findVersionById(id))
+                .orElseThrow(() -> new EntityNotFoundException(CATEGORY_NOT_FOUND_BY_ID + id));
     }
 
     @Override
     public CategoryDto save(CreateCategoryRequestDto categoryRequestDto) {
-        Category category = categoryMapper.toModel(categoryRequestDto);
-        return categoryMapper.toDto(categoryRepository.save(category));
+        Category category = categoryRepository.save(categoryMapper.toModel(categoryRequestDto));
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+        return categoryMapper.toDto(category);
     }
 
     @Override
@@ -40,7 +68,9 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = getCategory(id);
         category.setName(categoryRequestDto.getName());
         category.setDescription(categoryRequestDto.getDescription());
-        return categoryMapper.toDto(categoryRepository.save(category));
+        Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+        return categoryMapper.toDto(updatedCategory);
     }
 
     @Override
@@ -48,6 +78,8 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = getCategory(id);
         categoryRepository.delete(category);
         category.setDeleted(true);
+        bookCategoryIndex.removeCategory(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
         return categoryMapper.toDto(category);
     }
 
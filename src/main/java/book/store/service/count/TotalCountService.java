@@ -0,0 +1,9 @@
+package book.store.service.count;
+
+import java.util.OptionalLong;
+
+public interface TotalCountService {
+    OptionalLong getBookCount();
+
+    OptionalLong getCategoryCount();
+}
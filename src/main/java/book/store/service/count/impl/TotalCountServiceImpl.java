@@ -0,0 +1,40 @@
+package book.store.service.count.impl;
+
+import book.store.repository.book.BookRepository;
+import book.store.repository.category.CategoryRepository;
+import book.store.service.count.TotalCountService;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@RequiredArgsConstructor
+@Service
+public class TotalCountServiceImpl implements TotalCountService {
+    private static final long UNKNOWN = -1;
+    private final BookRepository bookRepository;
+    private final CategoryRepository categoryRepository;
+    private final AtomicLong bookCount = new AtomicLong(UNKNOWN);
+    private final AtomicLong categoryCount = new AtomicLong(UNKNOWN);
+
+    @Override
+    public OptionalLong getBookCount() {
+        return toOptional(bookCount.get());
+    }
+
+    @Override
+    public OptionalLong getCategoryCount() {
+        return toOptional(categoryCount.get());
+    }
+
+    @Scheduled(fixedDelayString = "${pagination.total-count.refresh-interval:60000}")
+    public void refresh() {
+        bookCount.set(bookRepository.count());
+        categoryCount.set(categoryRepository.count());
+    }
+
+    private static OptionalLong toOptional(long count) {
+        return count == UNKNOWN ? OptionalLong.empty() : OptionalLong.of(count);
+    }
+}
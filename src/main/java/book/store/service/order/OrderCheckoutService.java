@@ -0,0 +1,10 @@
+package book.store.service.order;
+
+import book.store.dto.order.OrderCheckoutDto;
+import book.store.dto.order.OrderRequestDto;
+
+public interface OrderCheckoutService {
+    OrderCheckoutDto submit(OrderRequestDto requestDto, Long userId);
+
+    OrderCheckoutDto getCheckout(String reference, Long userId);
+}
@@ -0,0 +1,276 @@
+package book.store.service.order.impl;
+
+import book.store.dto.order.OrderCheckoutDto;
+import book.store.dto.order.OrderRequestDto;
+import book.store.exception.CheckoutQueueFullException;
+import book.store.exception.EntityNotFoundException;
+import book.store.exception.OrderProcessingException;
+import book.store.index.BookSuggestionIndex;
+import book.store.model.Money;
+import book.store.repository.cart.item.CartItemJdbcRepository;
+import book.store.repository.cart.item.CartItemRepository;
+import book.store.repository.order.CheckoutItemRow;
+import book.store.repository.order.OrderItemRow;
+import book.store.repository.order.OrderJdbcRepository;
+import book.store.repository.order.OrderRow;
+import book.store.service.order.OrderCheckoutService;
+import book.store.service.shopping.cart.ShoppingCartService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Places orders off the request thread. Accepted checkouts wait in a bounded queue, and a few
+ * workers take them in groups and persist each group in one transaction with batched inserts.
+ * The queue and the checkout statuses live only in this process, so this is meant for a single
+ * node and is not durable: checkouts still queued when the process dies are lost. On a graceful
+ * shutdown new checkouts are refused and the queue is drained, and whatever is left after the
+ * shutdown timeout is rejected.
+ */
+@Slf4j
+@Service
+public class OrderCheckoutServiceImpl implements OrderCheckoutService {
+    private static final String EMPTY_SHOPPING_CART
+            = "Cannot create order with empty shopping cart";
+    private static final String CHECKOUT_QUEUE_FULL
+            = "Too many orders are being placed, please try again later";
+    private static final String CHECKOUT_FAILED = "Order could not be placed, please try again";
+    private static final String CAN_T_FIND_CHECKOUT = "Can't find checkout: ";
+    private static final String SHUTTING_DOWN
+            = "Orders can't be placed right now, please try again";
+    private static final long POLL_INTERVAL_MILLIS = 100;
+    private final ShoppingCartService shoppingCartService;
+    private final CartItemRepository cartItemRepository;
+    private final CartItemJdbcRepository cartItemJdbcRepository;
+    private final OrderJdbcRepository orderJdbcRepository;
+    private final BookSuggestionIndex bookSuggestionIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<CheckoutRequest> queue;
+    private final Cache<String, CheckoutState> checkouts;
+    private final ExecutorService workers;
+    private final int workerCount;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+    private volatile boolean running = true;
+
+    public OrderCheckoutServiceImpl(
+            ShoppingCartService shoppingCartService,
+            CartItemRepository cartItemRepository,
+            CartItemJdbcRepository cartItemJdbcRepository,
+            OrderJdbcRepository orderJdbcRepository,
+            BookSuggestionIndex bookSuggestionIndex,
+            PlatformTransactionManager transactionManager,
+            @Value("${order.checkout.async.workers:2}") int workerCount,
+            @Value("${order.checkout.async.batch-size:50}") int batchSize,
+            @Value("${order.checkout.async.queue-capacity:1000}") int queueCapacity,
+            @Value("${order.checkout.async.status-ttl:PT1H}") Duration statusTtl,
+            @Value("${order.checkout.async.shutdown-timeout:PT30S}") Duration shutdownTimeout) {
+        this.shoppingCartService = shoppingCartService;
+        this.cartItemRepository = cartItemRepository;
+        this.cartItemJdbcRepository = cartItemJdbcRepository;
+        this.orderJdbcRepository = orderJdbcRepository;
+        this.bookSuggestionIndex = bookSuggestionIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.checkouts = Caffeine.newBuilder()
+                .expireAfterWrite(statusTtl)
+                .build();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "order-checkout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::work);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        List<CheckoutRequest> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        if (!pending.isEmpty()) {
+            log.warn("Rejecting {} queued checkouts on shutdown", pending.size());
+            pending.forEach(request -> complete(new CheckoutOutcome(request,
+                    OrderCheckoutDto.Status.REJECTED, null, CHECKOUT_FAILED, List.of())));
+        }
+    }
+
+    @Override
+    public OrderCheckoutDto submit(OrderRequestDto requestDto, Long userId) {
+        if (!running) {
+            throw new CheckoutQueueFullException(SHUTTING_DOWN);
+        }
+        shoppingCartService.flush(userId);
+        if (!cartItemRepository.existsByShoppingCartId(userId)) {
+            throw new OrderProcessingException(EMPTY_SHOPPING_CART);
+        }
+        String reference = UUID.randomUUID().toString();
+        OrderCheckoutDto checkout = new OrderCheckoutDto(reference,
+                OrderCheckoutDto.Status.QUEUED, null, null);
+        checkouts.put(reference, new CheckoutState(userId, checkout));
+        if (!queue.offer(new CheckoutRequest(reference, userId,
+                requestDto.getShippingAddress()))) {
+            checkouts.invalidate(reference);
+            throw new CheckoutQueueFullException(CHECKOUT_QUEUE_FULL);
+        }
+        return checkout;
+    }
+
+    @Override
+    public OrderCheckoutDto getCheckout(String reference, Long userId) {
+        CheckoutState state = checkouts.getIfPresent(reference);
+        if (state == null || !state.userId().equals(userId)) {
+            throw new EntityNotFoundException(CAN_T_FIND_CHECKOUT + reference);
+        }
+        return state.checkout();
+    }
+
+    private void work() {
+        List<CheckoutRequest> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            CheckoutRequest request;
+            try {
+                request = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (request == null) {
+                continue;
+            }
+            batch.add(request);
+            queue.drainTo(batch, batchSize - 1);
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void process(List<CheckoutRequest> batch) {
+        try {
+            List<CheckoutOutcome> outcomes = transactionTemplate.execute(
+                    status -> placeOrders(batch));
+            outcomes.forEach(this::complete);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.error("Can't place order for checkout {}", batch.get(0).reference(), e);
+                complete(new CheckoutOutcome(batch.get(0), OrderCheckoutDto.Status.REJECTED,
+                        null, CHECKOUT_FAILED, List.of()));
+                return;
+            }
+            log.warn("Can't place {} orders in one batch, placing them one by one",
+                    batch.size(), e);
+            batch.forEach(request -> process(List.of(request)));
+        }
+    }
+
+    private List<CheckoutOutcome> placeOrders(List<CheckoutRequest> batch) {
+        Map<Long, List<CheckoutItemRow>> itemsByUserId = orderJdbcRepository
+                .findCheckoutItemsForUpdate(batch.stream()
+                        .map(CheckoutRequest::userId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.groupingBy(CheckoutItemRow::userId));
+        List<CheckoutOutcome> outcomes = new ArrayList<>();
+        List<OrderRow> orders = new ArrayList<>();
+        LocalDateTime orderDate = LocalDateTime.now();
+        for (CheckoutRequest request : batch) {
+            List<CheckoutItemRow> items = itemsByUserId.remove(request.userId());
+            if (items == null) {
+                outcomes.add(new CheckoutOutcome(request, OrderCheckoutDto.Status.REJECTED,
+                        null, EMPTY_SHOPPING_CART, List.of()));
+                continue;
+            }
+            orders.add(new OrderRow(request.userId(), calculateTotal(items), orderDate,
+                    request.shippingAddress()));
+            outcomes.add(new CheckoutOutcome(request, OrderCheckoutDto.Status.PLACED, null,
+                    null, items));
+        }
+
+        List<Long> orderIds = orderJdbcRepository.insertOrders(orders);
+        List<OrderItemRow> orderItems = new ArrayList<>();
+        List<Long> cartItemIds = new ArrayList<>();
+        int placed = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            CheckoutOutcome outcome = outcomes.get(i);
+            if (outcome.status() != OrderCheckoutDto.Status.PLACED) {
+                continue;
+            }
+            Long orderId = orderIds.get(placed++);
+            for (CheckoutItemRow item : outcome.items()) {
+                orderItems.add(new OrderItemRow(orderId, item.bookId(), item.quantity(),
+                        item.price()));
+                cartItemIds.add(item.cartItemId());
+            }
+            outcomes.set(i, new CheckoutOutcome(outcome.request(), outcome.status(), orderId,
+                    null, outcome.items()));
+        }
+        orderJdbcRepository.insertOrderItems(orderItems);
+        cartItemJdbcRepository.deleteAllById(cartItemIds);
+        return outcomes;
+    }
+
+    private void complete(CheckoutOutcome outcome) {
+        CheckoutRequest request = outcome.request();
+        checkouts.put(request.reference(), new CheckoutState(request.userId(),
+                new OrderCheckoutDto(request.reference(), outcome.status(), outcome.orderId(),
+                        outcome.message())));
+        outcome.items().forEach(item ->
+                bookSuggestionIndex.recordSale(item.bookId(), item.quantity()));
+    }
+
+    private static Money calculateTotal(List<CheckoutItemRow> items) {
+        long totalCents = 0;
+        for (CheckoutItemRow item : items) {
+            totalCents = Math.addExact(totalCents,
+                    Math.multiplyExact(item.price().cents(), item.quantity()));
+        }
+        return Money.ofCents(totalCents);
+    }
+
+    private record CheckoutRequest(String reference, Long userId, String shippingAddress) {
+    }
+
+    private record CheckoutState(Long userId, OrderCheckoutDto checkout) {
+    }
+
+    private record CheckoutOutcome(CheckoutRequest request, OrderCheckoutDto.Status status,
+                                   Long orderId, String message,
+                                   List<CheckoutItemRow> items) {
+    }
+}
@@ -6,21 +6,28 @@ import book.store.dto.order.OrderResponseDto;
 import book.store.dto.order.UpdateOrderStatusRequestDto;
 import book.store.exception.EntityNotFoundException;
 import book.store.exception.OrderProcessingException;
+import book.store.index.BookSoldEvent;
 import book.store.mapper.OrderItemMapper;
 import book.store.mapper.OrderMapper;
 import book.store.model.CartItem;
+import book.store.model.Money;
 import book.store.model.Order;
 import book.store.model.OrderItem;
 import book.store.model.ShoppingCart;
+import book.store.repository.order.OrderHistoryView;
+import book.store.repository.order.OrderItemHistoryView;
 import book.store.repository.order.OrderItemRepository;
 import book.store.repository.order.OrderRepository;
 import book.store.repository.shopping.cart.ShoppingCartRepository;
 import book.store.service.order.OrderService;
-import java.math.BigDecimal;
+import book.store.service.shopping.cart.ShoppingCartService;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,8 +38,6 @@ import org.springframework.transaction.annotation.Transactional;
 public class OrderServiceImpl implements OrderService {
     private static final String CAN_T_FIND_ORDER_ITEM_WITH_ID
             = "Can't find order item with id: ";
-    private static final String CAN_T_FIND_SHOPPING_CART_FOR_USER
-            = "Can't find shopping cart for user: ";
     private static final String CAN_T_FIND_ORDER_BY_ID
             = "Can't find order by id: ";
     private static final String EMPTY_SHOPPING_CART
@@ -43,11 +48,14 @@ public class OrderServiceImpl implements OrderService {
     private final OrderItemRepository orderItemRepository;
     private final OrderItemMapper orderItemMapper;
     private final OrderMapper orderMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShoppingCartService shoppingCartService;
 
     @Override
     public OrderResponseDto createOrder(OrderRequestDto requestDto, Long userId) {
+        shoppingCartService.flush(userId);
         ShoppingCart shoppingCart = shoppingCartRepository.findByUserId(userId).orElseThrow(
-                () -> new EntityNotFoundException(CAN_T_FIND_SHOPPING_CART_FOR_USER + userId));
+                () -> new OrderProcessingException(EMPTY_SHOPPING_CART));
         
         if (shoppingCart.getCartItems().isEmpty()) {
             throw new OrderProcessingException(EMPTY_SHOPPING_CART);
@@ -60,6 +68,9 @@ public class OrderServiceImpl implements OrderService {
         order.setTotal(calculateTotal(order.getOrderItems()));
         
         orderRepository.save(order);
+        order.getOrderItems().forEach(item ->
+                eventPublisher.publishEvent(
+                        new BookSoldEvent(item.getBook().getId(), item.getQuantity())));
         shoppingCart.getCartItems().clear();
         shoppingCartRepository.save(shoppingCart);
         return orderMapper.toDto(order);
@@ -67,9 +78,22 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public List<OrderResponseDto> getOrders(Long userId, Pageable pageable) {
-        return orderRepository.findAllByUserId(userId, pageable)
+        List<OrderHistoryView> orders = orderRepository.findHistoryByUserId(userId, pageable);
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Set<OrderItemResponseDto>> itemsByOrderId = orderItemRepository
+                .findHistoryByOrderIds(orders.stream().map(OrderHistoryView::getId).toList())
                 .stream()
-                .map(orderMapper::toDto)
+                .collect(Collectors.groupingBy(OrderItemHistoryView::getOrderId,
+                        Collectors.mapping(orderItemMapper::toDto, Collectors.toSet())));
+        return orders.stream()
+                .map(order -> {
+                    OrderResponseDto responseDto = orderMapper.toDto(order);
+                    responseDto.setOrderItems(
+                            itemsByOrderId.getOrDefault(order.getId(), new HashSet<>()));
+                    return responseDto;
+                })
                 .toList();
     }
 
@@ -109,9 +133,12 @@ public class OrderServiceImpl implements OrderService {
                 .collect(Collectors.toSet());
     }
 
-    private BigDecimal calculateTotal(Set<OrderItem> orderItems) {
-        return orderItems.stream()
-                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private Money calculateTotal(Set<OrderItem> orderItems) {
+        long totalCents = 0;
+        for (OrderItem item : orderItems) {
+            totalCents = Math.addExact(totalCents,
+                    Math.multiplyExact(item.getPrice().cents(), item.getQuantity()));
+        }
+        return Money.ofCents(totalCents);
     }
 }
@@ -1,13 +1,12 @@
 package book.store.service.shopping.cart;
 
+import book.store.dto.cart.item.CartItemOperationDto;
 import book.store.dto.cart.item.CartItemRequestDto;
 import book.store.dto.cart.item.CartItemUpdateQuantityDto;
 import book.store.dto.shopping.cart.ShoppingCartResponseDto;
-import book.store.model.User;
+import java.util.List;
 
 public interface ShoppingCartService {
-    void createShoppingCart(User user);
-
     ShoppingCartResponseDto addCartItem(CartItemRequestDto requestDto, Long userId);
 
     ShoppingCartResponseDto get(Long userId);
@@ -17,4 +16,8 @@ public interface ShoppingCartService {
             Long id, Long userId);
 
     void delete(Long id, Long userId);
+
+    ShoppingCartResponseDto applyBatch(List<CartItemOperationDto> operations, Long userId);
+
+    void flush(Long userId);
 }
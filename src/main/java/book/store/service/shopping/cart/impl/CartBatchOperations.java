@@ -0,0 +1,57 @@
+package book.store.service.shopping.cart.impl;
+
+import book.store.dto.book.BookBatchDto;
+import book.store.dto.book.BookDto;
+import book.store.dto.cart.item.CartItemOperationDto;
+import book.store.exception.EntityNotFoundException;
+import book.store.service.book.BookService;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CartBatchOperations {
+    private static final String BOOK_NOT_FOUND = "Book not found by id: ";
+    private final BookService bookService;
+
+    public Map<Long, BookDto> findBooks(List<CartItemOperationDto> operations) {
+        List<Long> bookIds = operations.stream()
+                .filter(operation -> operation.type() == CartItemOperationDto.Type.ADD)
+                .map(CartItemOperationDto::bookId)
+                .distinct()
+                .toList();
+        if (bookIds.isEmpty()) {
+            return Map.of();
+        }
+        BookBatchDto books = bookService.getAllByIds(bookIds);
+        if (!books.missingIds().isEmpty()) {
+            throw new EntityNotFoundException(BOOK_NOT_FOUND + books.missingIds().get(0));
+        }
+        return books.books().stream()
+                .collect(Collectors.toMap(BookDto::getId, Function.identity()));
+    }
+
+    public void apply(List<CartItemOperationDto> operations, Map<Long, BookDto> books,
+                      CartChanges cart) {
+        for (CartItemOperationDto operation : operations) {
+            Runnable change = switch (operation.type()) {
+                case ADD -> () -> cart.add(books.get(operation.bookId()), operation.quantity());
+                case UPDATE -> () -> cart.update(operation.itemId(), operation.quantity());
+                case REMOVE -> () -> cart.remove(operation.itemId());
+            };
+            change.run();
+        }
+    }
+
+    public interface CartChanges {
+        void add(BookDto book, int quantity);
+
+        void update(Long itemId, int quantity);
+
+        void remove(Long itemId);
+    }
+}
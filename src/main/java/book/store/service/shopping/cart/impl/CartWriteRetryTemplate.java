@@ -0,0 +1,77 @@
+package book.store.service.shopping.cart.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+public class CartWriteRetryTemplate {
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+    private final Counter successes;
+    private final Counter conflicts;
+    private final Counter retries;
+    private final Counter failures;
+
+    public CartWriteRetryTemplate(
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${shopping-cart.retry.max-attempts:4}") int maxAttempts,
+            @Value("${shopping-cart.retry.backoff:PT0.01S}") Duration backoff,
+            @Value("${shopping-cart.retry.max-backoff:PT0.2S}") Duration maxBackoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        this.successes = Counter.builder("cart.writes")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("cart.writes")
+                .tag("outcome", "conflict")
+                .register(meterRegistry);
+        this.retries = Counter.builder("cart.write.retries")
+                .register(meterRegistry);
+        this.failures = Counter.builder("cart.write.failures")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status -> write.get());
+                successes.increment();
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    failures.increment();
+                    throw e;
+                }
+                retries.increment();
+                log.debug("Cart write conflict on attempt {}, retrying", attempt);
+                sleep(attempt, e);
+            }
+        }
+    }
+
+    private void sleep(int attempt, OptimisticLockingFailureException conflict) {
+        long ceiling = Math.min(maxBackoffMillis, backoffMillis << (attempt - 1));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
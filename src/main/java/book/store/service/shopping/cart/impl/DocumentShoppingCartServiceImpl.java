@@ -0,0 +1,199 @@
+package book.store.service.shopping.cart.impl;
+
+import book.store.dto.book.BookDto;
+import book.store.dto.cart.item.CartItemOperationDto;
+import book.store.dto.cart.item.CartItemRequestDto;
+import book.store.dto.cart.item.CartItemResponseDto;
+import book.store.dto.cart.item.CartItemUpdateQuantityDto;
+import book.store.dto.shopping.cart.ShoppingCartResponseDto;
+import book.store.exception.EntityNotFoundException;
+import book.store.model.ShoppingCart;
+import book.store.repository.cart.item.CartItemJdbcRepository;
+import book.store.repository.cart.item.CartItemRow;
+import book.store.repository.shopping.cart.CartDocument;
+import book.store.repository.shopping.cart.ShoppingCartDocumentRepository;
+import book.store.repository.shopping.cart.ShoppingCartDocumentRepository.CartDocumentRow;
+import book.store.repository.shopping.cart.ShoppingCartRepository;
+import book.store.service.book.BookService;
+import book.store.service.shopping.cart.ShoppingCartService;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shopping-cart.mode", havingValue = "document")
+public class DocumentShoppingCartServiceImpl implements ShoppingCartService {
+    private static final String CAN_T_FIND_SHOPPING_CART = "Can't find shopping cart!";
+    private static final String CAN_T_FIND_CART_BY_ID = "Can`t find cart by ID : ";
+    private final ShoppingCartRepository shoppingCartRepository;
+    private final ShoppingCartDocumentRepository shoppingCartDocumentRepository;
+    private final CartItemJdbcRepository cartItemJdbcRepository;
+    private final BookService bookService;
+    private final CartWriteRetryTemplate cartWriteRetryTemplate;
+    private final CartBatchOperations cartBatchOperations;
+
+    @Override
+    public ShoppingCartResponseDto addCartItem(CartItemRequestDto requestDto, Long userId) {
+        BookDto book = bookService.getBookDtoById(requestDto.bookId());
+        return cartWriteRetryTemplate.execute(() -> toDto(userId,
+                write(userId, cart -> cart.add(book, requestDto.quantity()))));
+    }
+
+    @Override
+    @Transactional
+    public ShoppingCartResponseDto get(Long userId) {
+        return toDto(userId, shoppingCartDocumentRepository.findByUserId(userId)
+                .map(row -> toCart(userId, row))
+                .orElseGet(() -> new EditableCart(0, 1, List.of(), null)));
+    }
+
+    @Override
+    public ShoppingCartResponseDto update(CartItemUpdateQuantityDto updateQuantityDto,
+                                          Long id, Long userId) {
+        return cartWriteRetryTemplate.execute(() -> toDto(userId, write(userId,
+                cart -> cart.update(id, updateQuantityDto.quantity()))));
+    }
+
+    @Override
+    public void delete(Long id, Long userId) {
+        cartWriteRetryTemplate.execute(() -> write(userId, cart -> cart.remove(id)));
+    }
+
+    @Override
+    public ShoppingCartResponseDto applyBatch(List<CartItemOperationDto> operations,
+                                              Long userId) {
+        Map<Long, BookDto> books = cartBatchOperations.findBooks(operations);
+        return cartWriteRetryTemplate.execute(() -> toDto(userId, write(userId,
+                cart -> cartBatchOperations.apply(operations, books, cart))));
+    }
+
+    @Override
+    @Transactional
+    public void flush(Long userId) {
+        Optional<CartDocumentRow> row = shoppingCartDocumentRepository.findByUserId(userId);
+        if (row.isEmpty() || row.get().document() == null) {
+            return;
+        }
+        EditableCart cart = toCart(userId, row.get());
+        cartItemJdbcRepository.insertAll(cart.items.values().stream()
+                .map(item -> new CartItemRow(null, userId, item.bookId(), item.quantity()))
+                .toList());
+        if (!shoppingCartDocumentRepository.update(userId, cart.version, null)) {
+            throw new ObjectOptimisticLockingFailureException(ShoppingCart.class, userId);
+        }
+    }
+
+    private EditableCart write(Long userId, Consumer<EditableCart> change) {
+        EditableCart cart = load(userId);
+        change.accept(cart);
+        CartDocument document = new CartDocument(cart.nextItemId,
+                List.copyOf(cart.items.values()));
+        if (!shoppingCartDocumentRepository.update(userId, cart.version, document)) {
+            throw new ObjectOptimisticLockingFailureException(ShoppingCart.class, userId);
+        }
+        if (cart.legacyItemIds != null) {
+            cartItemJdbcRepository.deleteAllById(cart.legacyItemIds);
+        }
+        return cart;
+    }
+
+    private EditableCart load(Long userId) {
+        CartDocumentRow row = shoppingCartDocumentRepository.findByUserId(userId)
+                .orElseGet(() -> {
+                    shoppingCartRepository.createIfMissing(userId);
+                    return shoppingCartDocumentRepository.findByUserId(userId).orElseThrow(
+                            () -> new EntityNotFoundException(CAN_T_FIND_SHOPPING_CART));
+                });
+        return toCart(userId, row);
+    }
+
+    private EditableCart toCart(Long userId, CartDocumentRow row) {
+        if (row.document() != null) {
+            return new EditableCart(row.version(), row.document().nextItemId(),
+                    row.document().items(), null);
+        }
+        List<CartDocument.Item> items =
+                shoppingCartDocumentRepository.findItemRowsByShoppingCartId(userId);
+        long nextItemId = items.stream()
+                .mapToLong(CartDocument.Item::id)
+                .max()
+                .orElse(0) + 1;
+        return new EditableCart(row.version(), nextItemId, items,
+                items.stream().map(CartDocument.Item::id).toList());
+    }
+
+    private ShoppingCartResponseDto toDto(Long userId, EditableCart cart) {
+        ShoppingCartResponseDto responseDto = new ShoppingCartResponseDto();
+        responseDto.setId(userId);
+        responseDto.setUserId(userId);
+        responseDto.setCartItems(cart.items.values().stream()
+                .map(this::toItemDto)
+                .collect(Collectors.toSet()));
+        return responseDto;
+    }
+
+    private CartItemResponseDto toItemDto(CartDocument.Item item) {
+        CartItemResponseDto itemDto = new CartItemResponseDto();
+        itemDto.setId(item.id());
+        itemDto.setBookId(item.bookId());
+        itemDto.setBookTitle(item.title());
+        itemDto.setQuantity(item.quantity());
+        return itemDto;
+    }
+
+    private static class EditableCart implements CartBatchOperations.CartChanges {
+        private final long version;
+        private final Map<Long, CartDocument.Item> items = new LinkedHashMap<>();
+        private final List<Long> legacyItemIds;
+        private long nextItemId;
+
+        private EditableCart(long version, long nextItemId, List<CartDocument.Item> items,
+                             List<Long> legacyItemIds) {
+            this.version = version;
+            this.nextItemId = nextItemId;
+            this.legacyItemIds = legacyItemIds;
+            items.forEach(item -> this.items.put(item.bookId(), item));
+        }
+
+        @Override
+        public void add(BookDto book, int quantity) {
+            CartDocument.Item item = items.get(book.getId());
+            items.put(book.getId(), item == null
+                    ? new CartDocument.Item(nextItemId++, book.getId(), book.getTitle(),
+                            book.getPrice(), quantity)
+                    : withQuantity(item, item.quantity() + quantity));
+        }
+
+        @Override
+        public void update(Long id, int quantity) {
+            CartDocument.Item item = find(id);
+            items.put(item.bookId(), withQuantity(item, quantity));
+        }
+
+        @Override
+        public void remove(Long id) {
+            items.remove(find(id).bookId());
+        }
+
+        private CartDocument.Item find(Long id) {
+            return items.values().stream()
+                    .filter(item -> item.id() == id)
+                    .findFirst()
+                    .orElseThrow(() -> new EntityNotFoundException(CAN_T_FIND_CART_BY_ID + id));
+        }
+
+        private static CartDocument.Item withQuantity(CartDocument.Item item, int quantity) {
+            return new CartDocument.Item(item.id(), item.bookId(), item.title(), item.price(),
+                    quantity);
+        }
+    }
+}
@@ -1,103 +1,209 @@
 package book.store.service.shopping.cart.impl;
 
+import book.store.dto.book.BookDto;
+import book.store.dto.cart.item.CartItemOperationDto;
 import book.store.dto.cart.item.CartItemRequestDto;
+import book.store.dto.cart.item.CartItemResponseDto;
 import book.store.dto.cart.item.CartItemUpdateQuantityDto;
 import book.store.dto.shopping.cart.ShoppingCartResponseDto;
 import book.store.exception.EntityNotFoundException;
-import book.store.mapper.BookMapper;
 import book.store.mapper.ShoppingCartMapper;
 import book.store.model.CartItem;
 import book.store.model.ShoppingCart;
-import book.store.model.User;
+import book.store.repository.cart.item.CartItemJdbcRepository;
 import book.store.repository.cart.item.CartItemRepository;
+import book.store.repository.cart.item.CartItemRow;
 import book.store.repository.shopping.cart.ShoppingCartRepository;
 import book.store.service.book.BookService;
 import book.store.service.shopping.cart.ShoppingCartService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-@Transactional
+@ConditionalOnProperty(name = "shopping-cart.mode", havingValue = "database",
+        matchIfMissing = true)
 public class ShoppingCartServiceImpl implements ShoppingCartService {
     private static final String CAN_T_FIND_SHOPPING_CART = "Can't find shopping cart!";
     private static final String CAN_T_FIND_CART_BY_ID = "Can`t find cart by ID : ";
 
     private final CartItemRepository cartItemRepository;
+    private final CartItemJdbcRepository cartItemJdbcRepository;
     private final ShoppingCartRepository shoppingCartRepository;
     private final ShoppingCartMapper shoppingCartMapper;
     private final BookService bookService;
-    private final BookMapper bookMapper;
-
-    @Override
-    public void createShoppingCart(User user) {
-        ShoppingCart shoppingCart = new ShoppingCart();
-        shoppingCart.setUser(user);
-        shoppingCartRepository.save(shoppingCart);
-    }
+    private final CartWriteRetryTemplate cartWriteRetryTemplate;
+    private final CartBatchOperations cartBatchOperations;
 
     @Override
+    @Transactional
     public ShoppingCartResponseDto addCartItem(CartItemRequestDto requestDto, Long userId) {
-        String requestBookIsbn = bookService.getBookDtoById(requestDto.bookId()).getIsbn();
-        ShoppingCart shoppingCart = getShoppingCart(userId);
-
-        CartItem cartItem = shoppingCart.getCartItems().stream()
-                .filter(i -> i.getBook().getIsbn().equals(requestBookIsbn))
-                .findFirst()
-                .map(existingItem -> {
-                    existingItem.setQuantity(existingItem.getQuantity() + requestDto.quantity());
-                    return existingItem;
-                })
-                .orElseGet(() -> {
-                    CartItem newCartItem = createCartItem(requestDto, shoppingCart);
-                    shoppingCart.getCartItems().add(newCartItem);
-                    return newCartItem;
-                });
-        cartItemRepository.save(cartItem);
-
-        return shoppingCartMapper.toDto(shoppingCart);
+        int updated = cartItemJdbcRepository.upsert(userId, requestDto.bookId(),
+                requestDto.quantity());
+        if (updated == 0) {
+            shoppingCartRepository.createIfMissing(userId);
+            updated = cartItemJdbcRepository.upsert(userId, requestDto.bookId(),
+                    requestDto.quantity());
+        }
+        if (updated == 0) {
+            bookService.getBookDtoById(requestDto.bookId());
+            throw new EntityNotFoundException(CAN_T_FIND_SHOPPING_CART);
+        }
+        shoppingCartRepository.incrementVersion(userId);
+        ShoppingCartResponseDto cart = emptyCart(userId);
+        cart.setCartItems(new HashSet<>(cartItemJdbcRepository.findAllByShoppingCartId(userId)));
+        return cart;
     }
 
     @Override
+    @Transactional
     public ShoppingCartResponseDto get(Long userId) {
-        return shoppingCartMapper.toDto(getShoppingCart(userId));
+        return shoppingCartRepository.findByUserId(userId)
+                .map(shoppingCartMapper::toDto)
+                .orElseGet(() -> emptyCart(userId));
     }
 
     @Override
     public ShoppingCartResponseDto update(CartItemUpdateQuantityDto updateQuantityDto, 
                                           Long id, Long userId) {
-        CartItem cartItem = getCartItem(id, userId);
-        cartItem.setQuantity(updateQuantityDto.quantity());
-        return shoppingCartMapper.toDto(cartItemRepository.save(cartItem).getShoppingCart());
+        return cartWriteRetryTemplate.execute(() -> {
+            CartItem cartItem = getCartItem(id, userId);
+            cartItem.setQuantity(updateQuantityDto.quantity());
+            return shoppingCartMapper.toDto(cartItemRepository.save(cartItem).getShoppingCart());
+        });
     }
 
     @Override
     public void delete(Long id, Long userId) {
-        CartItem cartItem = getCartItem(id, userId);
-        cartItem.getShoppingCart().getCartItems().remove(cartItem);
-        cartItemRepository.deleteById(cartItem.getId());
+        cartWriteRetryTemplate.execute(() -> {
+            CartItem cartItem = getCartItem(id, userId);
+            cartItem.getShoppingCart().getCartItems().remove(cartItem);
+            cartItemRepository.delete(cartItem);
+            return null;
+        });
     }
 
-    private CartItem createCartItem(CartItemRequestDto cartItemRequestDto,
-                                   ShoppingCart shoppingCart) {
-        CartItem cartItem = new CartItem();
-        Long bookId = cartItemRequestDto.bookId();
-        cartItem.setBook(bookMapper.toModel(bookService.getBookDtoById(bookId)));
-        cartItem.setQuantity(cartItemRequestDto.quantity());
-        cartItem.setShoppingCart(shoppingCart);
+    @Override
+    public ShoppingCartResponseDto applyBatch(List<CartItemOperationDto> operations,
+                                              Long userId) {
+        Map<Long, BookDto> books = cartBatchOperations.findBooks(operations);
+        return cartWriteRetryTemplate.execute(() -> applyOperations(operations, books, userId));
+    }
 
-        return cartItem;
+    @Override
+    public void flush(Long userId) {
+        // cart items are written on every change
+    }
+
+    private ShoppingCartResponseDto applyOperations(List<CartItemOperationDto> operations,
+                                                    Map<Long, BookDto> books,
+                                                    Long userId) {
+        ShoppingCart shoppingCart = shoppingCartRepository.findByUserId(userId)
+                .orElseGet(() -> {
+                    shoppingCartRepository.createIfMissing(userId);
+                    return shoppingCartRepository.findByUserId(userId).orElseThrow(
+                            () -> new EntityNotFoundException(CAN_T_FIND_SHOPPING_CART));
+                });
+        if (shoppingCartRepository.incrementVersion(shoppingCart.getId(),
+                shoppingCart.getVersion()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(ShoppingCart.class, userId);
+        }
+        ShoppingCartResponseDto cart = shoppingCartMapper.toDto(shoppingCart);
+        Map<Long, CartItemResponseDto> itemsByBookId = cart.getCartItems().stream()
+                .collect(Collectors.toMap(CartItemResponseDto::getBookId, Function.identity()));
+        Set<CartItemResponseDto> changedItems = new LinkedHashSet<>();
+        List<Long> removedItemIds = new ArrayList<>();
+        cartBatchOperations.apply(operations, books, new CartBatchOperations.CartChanges() {
+            @Override
+            public void add(BookDto book, int quantity) {
+                CartItemResponseDto item = itemsByBookId.computeIfAbsent(book.getId(),
+                        bookId -> newCartItem(book));
+                item.setQuantity(item.getQuantity() + quantity);
+                changedItems.add(item);
+            }
+
+            @Override
+            public void update(Long itemId, int quantity) {
+                CartItemResponseDto item = findCartItem(itemsByBookId.values(), itemId);
+                item.setQuantity(quantity);
+                changedItems.add(item);
+            }
+
+            @Override
+            public void remove(Long itemId) {
+                CartItemResponseDto item = findCartItem(itemsByBookId.values(), itemId);
+                itemsByBookId.remove(item.getBookId());
+                changedItems.remove(item);
+                removedItemIds.add(item.getId());
+            }
+        });
+
+        cartItemJdbcRepository.deleteAllById(removedItemIds);
+        cartItemJdbcRepository.updateAll(changedItems.stream()
+                .filter(item -> item.getId() != null)
+                .map(item -> toRow(cart.getId(), item))
+                .toList());
+        List<CartItemResponseDto> newItems = changedItems.stream()
+                .filter(item -> item.getId() == null)
+                .toList();
+        List<Long> ids = cartItemJdbcRepository.insertAll(newItems.stream()
+                .map(item -> toRow(cart.getId(), item))
+                .toList());
+        for (int i = 0; i < newItems.size(); i++) {
+            newItems.get(i).setId(ids.get(i));
+        }
+        cart.setCartItems(new HashSet<>(itemsByBookId.values()));
+        return cart;
+    }
+
+    private CartItemResponseDto newCartItem(BookDto book) {
+        CartItemResponseDto item = new CartItemResponseDto();
+        item.setBookId(book.getId());
+        item.setBookTitle(book.getTitle());
+        return item;
+    }
+
+    private CartItemResponseDto findCartItem(Collection<CartItemResponseDto> items, Long id) {
+        return items.stream()
+                .filter(item -> id.equals(item.getId()))
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException(CAN_T_FIND_CART_BY_ID + id));
+    }
+
+    private CartItemRow toRow(Long shoppingCartId, CartItemResponseDto item) {
+        return new CartItemRow(item.getId(), shoppingCartId, item.getBookId(),
+                item.getQuantity());
     }
 
     private CartItem getCartItem(Long id, Long userId) {
-        return cartItemRepository.findByIdAndShoppingCartId(id, getShoppingCart(userId).getId())
+        return cartItemRepository.findByIdAndShoppingCartId(id,
+                        getShoppingCartForWrite(userId).getId())
                 .orElseThrow(() -> new EntityNotFoundException(CAN_T_FIND_CART_BY_ID + id)
         );
     }
 
-    private ShoppingCart getShoppingCart(Long userId) {
-        return shoppingCartRepository.findByUserId(userId)
+    private ShoppingCart getShoppingCartForWrite(Long userId) {
+        return shoppingCartRepository.findForWriteByUserId(userId)
                 .orElseThrow(() -> new EntityNotFoundException(CAN_T_FIND_SHOPPING_CART));
     }
+
+    private ShoppingCartResponseDto emptyCart(Long userId) {
+        ShoppingCartResponseDto responseDto = new ShoppingCartResponseDto();
+        responseDto.setId(userId);
+        responseDto.setUserId(userId);
+        responseDto.setCartItems(new HashSet<>());
+        return responseDto;
+    }
 }
@@ -0,0 +1,429 @@
+package book.store.service.shopping.cart.impl;
+
+import book.store.dto.book.BookDto;
+import book.store.dto.cart.item.CartItemOperationDto;
+import book.store.dto.cart.item.CartItemRequestDto;
+import book.store.dto.cart.item.CartItemResponseDto;
+import book.store.dto.cart.item.CartItemUpdateQuantityDto;
+import book.store.dto.shopping.cart.ShoppingCartResponseDto;
+import book.store.exception.EntityNotFoundException;
+import book.store.exception.ShoppingCartUnavailableException;
+import book.store.model.CartItem;
+import book.store.model.ShoppingCart;
+import book.store.repository.cart.item.CartItemJdbcRepository;
+import book.store.repository.cart.item.CartItemRow;
+import book.store.repository.shopping.cart.ShoppingCartRepository;
+import book.store.service.book.BookService;
+import book.store.service.shopping.cart.ShoppingCartService;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "shopping-cart.mode", havingValue = "write-behind")
+public class WriteBehindShoppingCartServiceImpl implements ShoppingCartService {
+    private static final String CAN_T_FIND_CART_BY_ID = "Can`t find cart by ID : ";
+    private static final String SHUTTING_DOWN
+            = "Shopping cart can't be changed right now, please try again";
+    private final ShoppingCartRepository shoppingCartRepository;
+    private final CartItemJdbcRepository cartItemJdbcRepository;
+    private final BookService bookService;
+    private final CartBatchOperations cartBatchOperations;
+    private final TransactionTemplate transactionTemplate;
+    private final long idleTimeoutMillis;
+    private final Map<Long, CartState> carts = new ConcurrentHashMap<>();
+    private final AtomicLong provisionalIds = new AtomicLong();
+    private final Lock flushLock = new ReentrantLock();
+    private volatile boolean running = true;
+
+    public WriteBehindShoppingCartServiceImpl(
+            ShoppingCartRepository shoppingCartRepository,
+            CartItemJdbcRepository cartItemJdbcRepository,
+            BookService bookService,
+            CartBatchOperations cartBatchOperations,
+            PlatformTransactionManager transactionManager,
+            @Value("${shopping-cart.write-behind.idle-timeout:PT30M}") Duration idleTimeout) {
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.cartItemJdbcRepository = cartItemJdbcRepository;
+        this.bookService = bookService;
+        this.cartBatchOperations = cartBatchOperations;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+    }
+
+    @Override
+    public ShoppingCartResponseDto addCartItem(CartItemRequestDto requestDto, Long userId) {
+        String bookTitle = bookService.getBookDtoById(requestDto.bookId()).getTitle();
+        return changeCart(userId, cart -> {
+            CartLine line = cart.lines.get(requestDto.bookId());
+            if (line == null) {
+                line = new CartLine(requestDto.bookId(), bookTitle, null,
+                        -provisionalIds.incrementAndGet(), 0);
+                cart.lines.put(line.bookId, line);
+            }
+            line.quantity += requestDto.quantity();
+            cart.markDirty(line);
+            return toDto(cart);
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        flushAll();
+    }
+
+    @Override
+    public ShoppingCartResponseDto get(Long userId) {
+        return withCart(userId, this::toDto);
+    }
+
+    @Override
+    public ShoppingCartResponseDto update(CartItemUpdateQuantityDto updateQuantityDto,
+                                          Long id, Long userId) {
+        return changeCart(userId, cart -> {
+            CartLine line = getLine(cart, id);
+            line.quantity = updateQuantityDto.quantity();
+            cart.markDirty(line);
+            return toDto(cart);
+        });
+    }
+
+    @Override
+    public void delete(Long id, Long userId) {
+        changeCart(userId, cart -> {
+            removeLine(cart, getLine(cart, id));
+            return null;
+        });
+    }
+
+    @Override
+    public ShoppingCartResponseDto applyBatch(List<CartItemOperationDto> operations,
+                                              Long userId) {
+        Map<Long, BookDto> books = cartBatchOperations.findBooks(operations);
+        return changeCart(userId, cart -> {
+            checkItemIds(cart, operations);
+            cartBatchOperations.apply(operations, books, new CartBatchOperations.CartChanges() {
+                @Override
+                public void add(BookDto book, int quantity) {
+                    CartLine line = cart.lines.computeIfAbsent(book.getId(),
+                            bookId -> new CartLine(bookId, book.getTitle(), null,
+                                    -provisionalIds.incrementAndGet(), 0));
+                    line.quantity += quantity;
+                    cart.markDirty(line);
+                }
+
+                @Override
+                public void update(Long itemId, int quantity) {
+                    CartLine line = getLine(cart, itemId);
+                    line.quantity = quantity;
+                    cart.markDirty(line);
+                }
+
+                @Override
+                public void remove(Long itemId) {
+                    removeLine(cart, getLine(cart, itemId));
+                }
+            });
+            return toDto(cart);
+        });
+    }
+
+    @Override
+    public void flush(Long userId) {
+        flushLock.lock();
+        try {
+            CartState cart = carts.get(userId);
+            if (cart != null) {
+                flushCarts(List.of(cart));
+                evict(cart);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shopping-cart.write-behind.flush-interval:1000}")
+    public void flushAll() {
+        flushLock.lock();
+        try {
+            flushIsolatingFailures(carts.values().stream().filter(cart -> cart.dirty).toList());
+            long idleSince = System.currentTimeMillis() - idleTimeoutMillis;
+            carts.values().stream()
+                    .filter(cart -> cart.lastAccess < idleSince)
+                    .forEach(this::evict);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushIsolatingFailures(List<CartState> dirtyCarts) {
+        try {
+            flushCarts(dirtyCarts);
+        } catch (RuntimeException e) {
+            if (dirtyCarts.size() == 1) {
+                log.error("Can't flush shopping cart of user {}, retrying later",
+                        dirtyCarts.get(0).userId, e);
+                return;
+            }
+            log.warn("Can't flush {} shopping carts in one batch, flushing them one by one",
+                    dirtyCarts.size(), e);
+            dirtyCarts.forEach(cart -> flushIsolatingFailures(List.of(cart)));
+        }
+    }
+
+    private void flushCarts(List<CartState> dirtyCarts) {
+        List<PendingFlush> pending = dirtyCarts.stream()
+                .map(PendingFlush::take)
+                .toList();
+        List<CartItemRow> inserts = pending.stream()
+                .flatMap(flush -> flush.inserts.stream())
+                .map(insert -> new CartItemRow(null, insert.cart.userId, insert.line.bookId,
+                        insert.quantity))
+                .toList();
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                pending.stream()
+                        .filter(flush -> !flush.cart.stored && !flush.inserts.isEmpty())
+                        .forEach(flush -> shoppingCartRepository.createIfMissing(
+                                flush.cart.userId));
+                cartItemJdbcRepository.deleteAllById(pending.stream()
+                        .flatMap(flush -> flush.deletedItemIds.stream())
+                        .toList());
+                cartItemJdbcRepository.updateAll(pending.stream()
+                        .flatMap(flush -> flush.updates.stream())
+                        .toList());
+                return cartItemJdbcRepository.insertAll(inserts);
+            });
+            List<PendingInsert> pendingInserts = pending.stream()
+                    .flatMap(flush -> flush.inserts.stream())
+                    .toList();
+            for (int i = 0; i < pendingInserts.size(); i++) {
+                pendingInserts.get(i).complete(ids.get(i));
+            }
+            pending.stream()
+                    .filter(flush -> !flush.inserts.isEmpty())
+                    .forEach(flush -> flush.cart.stored = true);
+        } catch (RuntimeException e) {
+            pending.forEach(PendingFlush::restore);
+            throw e;
+        }
+    }
+
+    private void evict(CartState cart) {
+        synchronized (cart) {
+            if (!cart.dirty && cart.lines.values().stream().noneMatch(line -> line.inserting)) {
+                cart.evicted = true;
+                carts.remove(cart.userId, cart);
+            }
+        }
+    }
+
+    private <T> T withCart(Long userId, Function<CartState, T> action) {
+        while (true) {
+            CartState cart = carts.computeIfAbsent(userId, this::load);
+            synchronized (cart) {
+                if (!cart.evicted) {
+                    cart.lastAccess = System.currentTimeMillis();
+                    return action.apply(cart);
+                }
+            }
+        }
+    }
+
+    private <T> T changeCart(Long userId, Function<CartState, T> change) {
+        return withCart(userId, cart -> {
+            if (!running) {
+                throw new ShoppingCartUnavailableException(SHUTTING_DOWN);
+            }
+            return change.apply(cart);
+        });
+    }
+
+    private CartLine getLine(CartState cart, Long id) {
+        return cart.findLine(id)
+                .orElseThrow(() -> new EntityNotFoundException(CAN_T_FIND_CART_BY_ID + id));
+    }
+
+    private void checkItemIds(CartState cart, List<CartItemOperationDto> operations) {
+        Set<CartLine> removedLines = new HashSet<>();
+        for (CartItemOperationDto operation : operations) {
+            if (operation.type() == CartItemOperationDto.Type.ADD) {
+                continue;
+            }
+            CartLine line = getLine(cart, operation.itemId());
+            if (removedLines.contains(line)) {
+                throw new EntityNotFoundException(CAN_T_FIND_CART_BY_ID + operation.itemId());
+            }
+            if (operation.type() == CartItemOperationDto.Type.REMOVE) {
+                removedLines.add(line);
+            }
+        }
+    }
+
+    private void removeLine(CartState cart, CartLine line) {
+        cart.lines.remove(line.bookId);
+        if (line.itemId != null) {
+            cart.deletedItemIds.add(line.itemId);
+            cart.dirty = true;
+        }
+    }
+
+    private CartState load(Long userId) {
+        CartState cart = new CartState(userId);
+        Optional<ShoppingCart> storedCart = shoppingCartRepository.findByUserId(userId);
+        if (storedCart.isEmpty()) {
+            return cart;
+        }
+        ShoppingCart shoppingCart = storedCart.get();
+        cart.stored = true;
+        for (CartItem cartItem : shoppingCart.getCartItems()) {
+            cart.lines.put(cartItem.getBook().getId(), new CartLine(cartItem.getBook().getId(),
+                    cartItem.getBook().getTitle(), cartItem.getId(), cartItem.getId(),
+                    cartItem.getQuantity()));
+        }
+        return cart;
+    }
+
+    private ShoppingCartResponseDto toDto(CartState cart) {
+        ShoppingCartResponseDto responseDto = new ShoppingCartResponseDto();
+        responseDto.setId(cart.userId);
+        responseDto.setUserId(cart.userId);
+        responseDto.setCartItems(cart.lines.values().stream()
+                .map(this::toItemDto)
+                .collect(Collectors.toSet()));
+        return responseDto;
+    }
+
+    private CartItemResponseDto toItemDto(CartLine line) {
+        CartItemResponseDto itemDto = new CartItemResponseDto();
+        itemDto.setId(line.itemId != null ? line.itemId : line.provisionalId);
+        itemDto.setBookId(line.bookId);
+        itemDto.setBookTitle(line.bookTitle);
+        itemDto.setQuantity(line.quantity);
+        return itemDto;
+    }
+
+    private static class CartState {
+        private final Long userId;
+        private final Map<Long, CartLine> lines = new LinkedHashMap<>();
+        private final List<Long> deletedItemIds = new ArrayList<>();
+        private volatile boolean dirty;
+        private volatile boolean stored;
+        private volatile long lastAccess = System.currentTimeMillis();
+        private boolean evicted;
+
+        private CartState(Long userId) {
+            this.userId = userId;
+        }
+
+        private Optional<CartLine> findLine(Long id) {
+            return lines.values().stream()
+                    .filter(line -> id.equals(line.itemId) || id == line.provisionalId)
+                    .findFirst();
+        }
+
+        private void markDirty(CartLine line) {
+            line.dirty = true;
+            dirty = true;
+        }
+    }
+
+    private static class CartLine {
+        private final Long bookId;
+        private final String bookTitle;
+        private final long provisionalId;
+        private Long itemId;
+        private int quantity;
+        private boolean dirty;
+        private boolean inserting;
+
+        private CartLine(Long bookId, String bookTitle, Long itemId, long provisionalId,
+                         int quantity) {
+            this.bookId = bookId;
+            this.bookTitle = bookTitle;
+            this.itemId = itemId;
+            this.provisionalId = provisionalId;
+            this.quantity = quantity;
+        }
+    }
+
+    private record PendingInsert(CartState cart, CartLine line, int quantity) {
+        private void complete(Long itemId) {
+            synchronized (cart) {
+                line.itemId = itemId;
+                line.inserting = false;
+                if (cart.lines.get(line.bookId) != line) {
+                    cart.deletedItemIds.add(itemId);
+                    cart.dirty = true;
+                } else if (line.quantity != quantity) {
+                    cart.markDirty(line);
+                }
+            }
+        }
+    }
+
+    private record PendingFlush(CartState cart, List<Long> deletedItemIds,
+                                List<CartItemRow> updates, List<PendingInsert> inserts) {
+        private static PendingFlush take(CartState cart) {
+            synchronized (cart) {
+                List<CartItemRow> updates = new ArrayList<>();
+                List<PendingInsert> inserts = new ArrayList<>();
+                for (CartLine line : cart.lines.values()) {
+                    if (!line.dirty || line.inserting) {
+                        continue;
+                    }
+                    line.dirty = false;
+                    if (line.itemId != null) {
+                        updates.add(new CartItemRow(line.itemId, cart.userId, line.bookId,
+                                line.quantity));
+                    } else {
+                        line.inserting = true;
+                        inserts.add(new PendingInsert(cart, line, line.quantity));
+                    }
+                }
+                List<Long> deletedItemIds = List.copyOf(cart.deletedItemIds);
+                cart.deletedItemIds.clear();
+                cart.dirty = false;
+                return new PendingFlush(cart, deletedItemIds, updates, inserts);
+            }
+        }
+
+        private void restore() {
+            synchronized (cart) {
+                cart.deletedItemIds.addAll(deletedItemIds);
+                for (CartItemRow update : updates) {
+                    cart.findLine(update.id()).ifPresent(line -> line.dirty = true);
+                }
+                for (PendingInsert insert : inserts) {
+                    insert.line.inserting = false;
+                    insert.line.dirty = true;
+                }
+                cart.dirty = true;
+            }
+        }
+    }
+}
@@ -8,7 +8,6 @@ import book.store.model.Role;
 import book.store.model.User;
 import book.store.repository.role.RoleRepository;
 import book.store.repository.user.UserRepository;
-import book.store.service.shopping.cart.ShoppingCartService;
 import book.store.service.user.UserService;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
@@ -26,7 +25,6 @@ class UserServiceImpl implements UserService {
     private final RoleRepository roleRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
-    private final ShoppingCartService shoppingCartService;
 
     @Transactional
     @Override
@@ -43,7 +41,6 @@ class UserServiceImpl implements UserService {
                 );
         user.setRoles(Set.of(userRole));
         User savedUser = userRepository.save(user);
-        shoppingCartService.createShoppingCart(savedUser);
 
         return userMapper.toDto(savedUser);
     }
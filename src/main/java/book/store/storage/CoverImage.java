@@ -0,0 +1,28 @@
+package book.store.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.springframework.http.MediaType;
+
+public record CoverImage(String tag, Path path, MediaType mediaType, long length) {
+    public void transferTo(long position, long count, OutputStream outputStream)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            long transferred = 0;
+            while (transferred < count) {
+                long bytes = channel.transferTo(position + transferred, count - transferred,
+                        target);
+                if (bytes <= 0) {
+                    break;
+                }
+                transferred += bytes;
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package book.store.storage;
+
+import book.store.exception.DataProcessingException;
+import book.store.exception.EntityNotFoundException;
+import book.store.exception.InvalidRequestParameterException;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CoverImageStore {
+    public static final Set<Integer> THUMBNAIL_WIDTHS = Set.of(100, 200, 400);
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "jpeg", "jpg",
+            "png", "png",
+            "gif", "gif");
+    private static final Map<String, MediaType> MEDIA_TYPES = Map.of(
+            "jpg", MediaType.IMAGE_JPEG,
+            "png", MediaType.IMAGE_PNG,
+            "gif", MediaType.IMAGE_GIF);
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final String ORIGINALS = "originals";
+    private static final String THUMBNAILS = "thumbnails";
+    private static final int BUFFER_SIZE = 8192;
+    private static final String CAN_T_STORE = "Can't store cover image";
+    private static final String CAN_T_CREATE_THUMBNAIL = "Can't create cover thumbnail: ";
+    private static final String COVER_IMAGE_TOO_LARGE = "Cover image exceeds bytes: ";
+    private static final String UNSUPPORTED_FORMAT =
+            "Cover image must be a JPEG, PNG or GIF image";
+    private static final String UNSUPPORTED_WIDTH = "Thumbnail width must be one of: ";
+    private static final String COVER_IMAGE_NOT_FOUND = "Cover image not found: ";
+    private final Path directory;
+    private final long maxSize;
+
+    public CoverImageStore(@Value("${cover.storage.directory:covers}") Path directory,
+                           @Value("${cover.storage.max-size:5242880}") long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    public String store(InputStream inputStream) {
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(directory);
+            temporaryFile = Files.createTempFile(directory, "upload", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            copy(new DigestInputStream(inputStream, digest), temporaryFile);
+            String extension = detectFormat(temporaryFile)
+                    .map(EXTENSIONS::get)
+                    .orElseThrow(() -> new InvalidRequestParameterException(UNSUPPORTED_FORMAT));
+            String key = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+            Path original = resolve(ORIGINALS, key);
+            if (Files.notExists(original)) {
+                Files.createDirectories(original.getParent());
+                Files.move(temporaryFile, original, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+            return key;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new DataProcessingException(CAN_T_STORE, e);
+        } finally {
+            deleteIfExists(temporaryFile);
+        }
+    }
+
+    public CoverImage find(String key) {
+        Path original = resolve(ORIGINALS, key);
+        if (Files.notExists(original)) {
+            throw new EntityNotFoundException(COVER_IMAGE_NOT_FOUND + key);
+        }
+        return toCoverImage(key, original, key);
+    }
+
+    public CoverImage findThumbnail(String key, int width) {
+        if (!THUMBNAIL_WIDTHS.contains(width)) {
+            throw new InvalidRequestParameterException(UNSUPPORTED_WIDTH
+                    + THUMBNAIL_WIDTHS.stream().sorted().toList());
+        }
+        Path thumbnail = resolve(THUMBNAILS + "/" + width, key);
+        if (Files.notExists(thumbnail)) {
+            createThumbnail(find(key).path(), thumbnail, width, extension(key));
+        }
+        return toCoverImage(width + "-" + key, thumbnail, key);
+    }
+
+    private void copy(InputStream inputStream, Path target) throws IOException {
+        try (InputStream input = inputStream;
+                OutputStream output = Files.newOutputStream(target)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long size = 0;
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                size += read;
+                if (size > maxSize) {
+                    throw new InvalidRequestParameterException(COVER_IMAGE_TOO_LARGE + maxSize);
+                }
+                output.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private static Optional<String> detectFormat(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+            return Optional.of(readers.next().getFormatName().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private void createThumbnail(Path source, Path target, int width, String extension) {
+        Path temporaryFile = null;
+        try {
+            BufferedImage image = scale(readSubsampled(source, width), width,
+                    "jpg".equals(extension));
+            Files.createDirectories(target.getParent());
+            temporaryFile = Files.createTempFile(target.getParent(), "thumbnail", ".tmp");
+            ImageIO.write(image, extension, temporaryFile.toFile());
+            Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new DataProcessingException(CAN_T_CREATE_THUMBNAIL + target, e);
+        } finally {
+            deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static BufferedImage readSubsampled(Path source, int width) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            ImageReader reader = ImageIO.getImageReaders(input).next();
+            try {
+                reader.setInput(input, true, true);
+                int subsampling = Math.max(1, reader.getWidth(0) / width);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, boolean opaque) {
+        int targetWidth = Math.min(width, image.getWidth());
+        int targetHeight = Math.max(1,
+                (int) Math.round((double) image.getHeight() * targetWidth / image.getWidth()));
+        BufferedImage scaled = new BufferedImage(targetWidth, targetHeight,
+                opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private CoverImage toCoverImage(String tag, Path file, String key) {
+        try {
+            return new CoverImage(tag, file, MEDIA_TYPES.get(extension(key)), Files.size(file));
+        } catch (IOException e) {
+            throw new DataProcessingException(COVER_IMAGE_NOT_FOUND + key, e);
+        }
+    }
+
+    private Path resolve(String folder, String key) {
+        return directory.resolve(folder).resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static String extension(String key) {
+        return key.substring(key.lastIndexOf('.') + 1);
+    }
+
+    private static void deleteIfExists(Path file) {
+        if (file != null) {
+            file.toFile().delete();
+        }
+    }
+}
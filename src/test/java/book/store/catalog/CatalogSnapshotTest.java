@@ -0,0 +1,77 @@
+package book.store.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import book.store.dto.book.BookDto;
+import book.store.dto.book.BookDtoWithoutCategoryIds;
+import book.store.dto.category.CategoryDto;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+class CatalogSnapshotTest {
+    private final CatalogSnapshot snapshot = CatalogSnapshot.of(
+            List.of(createBook(1L, Set.of(10L)), createBook(2L, Set.of()),
+                    createBook(3L, Set.of(10L, 20L)), createBook(4L, Set.of(10L))),
+            List.of(new CategoryDto(10, "Fantasy", null, 0L),
+                    new CategoryDto(20, "Classic", null, 0L)),
+            CatalogSnapshotTest::withoutCategoryIds);
+
+    @Test
+    @DisplayName("Find book and category by id")
+    void find_ById_ReturnsPresentEntriesOnly() {
+        assertEquals(3L, snapshot.findBook(3L).orElseThrow().getId());
+        assertFalse(snapshot.findBook(5L).isPresent());
+        assertEquals("Classic", snapshot.findCategory(20L).orElseThrow().name());
+        assertFalse(snapshot.findCategory(30L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Pages books in id order")
+    void findBooks_WithPageable_ReturnsPage() {
+        assertEquals(List.of(3L, 4L), snapshot.findBooks(PageRequest.of(1, 2)).stream()
+                .map(BookDto::getId)
+                .toList());
+        assertTrue(snapshot.findBooks(PageRequest.of(2, 2)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Pages books of a category in id order")
+    void findBooksByCategoryId_WithPageable_ReturnsPage() {
+        assertEquals(List.of(3L, 4L), snapshot.findBooksByCategoryId(10L, PageRequest.of(0, 3))
+                .stream()
+                .skip(1)
+                .map(BookDtoWithoutCategoryIds::getId)
+                .toList());
+        assertEquals(1, snapshot.findBooksByCategoryId(20L, PageRequest.of(0, 3)).size());
+        assertTrue(snapshot.findBooksByCategoryId(30L, PageRequest.of(0, 3)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Only unsorted or id sorted pages are served from the snapshot")
+    void supports_WithSort_AcceptsIdOrderOnly() {
+        assertTrue(CatalogSnapshot.supports(PageRequest.of(0, 2)));
+        assertTrue(CatalogSnapshot.supports(PageRequest.of(0, 2, Sort.by("id"))));
+        assertFalse(CatalogSnapshot.supports(PageRequest.of(0, 2, Sort.by("title"))));
+    }
+
+    private static BookDto createBook(Long id, Set<Long> categoryIds) {
+        BookDto bookDto = new BookDto();
+        bookDto.setId(id);
+        bookDto.setTitle("Book " + id);
+        bookDto.setCategoryIds(categoryIds);
+        return bookDto;
+    }
+
+    private static BookDtoWithoutCategoryIds withoutCategoryIds(BookDto bookDto) {
+        BookDtoWithoutCategoryIds dto = new BookDtoWithoutCategoryIds();
+        dto.setId(bookDto.getId());
+        dto.setTitle(bookDto.getTitle());
+        return dto;
+    }
+}
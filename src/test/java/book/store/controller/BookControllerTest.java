@@ -7,27 +7,45 @@ import static book.store.util.TestUtil.TEST_BOOK_ID;
 import static book.store.util.TestUtil.TEST_BOOK_ISBN;
 import static book.store.util.TestUtil.TEST_BOOK_PRICE;
 import static book.store.util.TestUtil.TEST_BOOK_TITLE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import book.store.dto.book.CreateBookRequestDto;
+import book.store.index.BookIndexManager;
 import book.store.util.TestUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlMergeMode;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
@@ -42,6 +60,10 @@ class BookControllerTest {
 
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private BookIndexManager bookIndexManager;
 
     @BeforeAll
     static void beforeAll(@Autowired WebApplicationContext applicationContext) {
@@ -51,12 +73,18 @@ class BookControllerTest {
                 .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
     @Test
     @WithMockUser
     @DisplayName("Get all books returns list of books")
     void getAllBooks_ReturnsListOfBooks() throws Exception {
         mockMvc.perform(get("/books"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Has-Next", "false"))
                 .andExpect(jsonPath("$[0].id").value(TEST_BOOK_ID))
                 .andExpect(jsonPath("$[0].title").value(TEST_BOOK_TITLE))
                 .andExpect(jsonPath("$[0].author").value(TEST_BOOK_AUTHOR))
@@ -67,6 +95,46 @@ class BookControllerTest {
                 .andExpect(jsonPath("$[0].categoryIds").isArray());
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Get all books after empty cursor returns first page without next cursor")
+    void getAllBooksAfter_WithEmptyCursor_ReturnsFirstPage() throws Exception {
+        mockMvc.perform(get("/books").param("after", "").param("sort", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(TEST_BOOK_ID))
+                .andExpect(jsonPath("$.content[0].title").value(TEST_BOOK_TITLE))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Get all books after invalid cursor returns bad request")
+    void getAllBooksAfter_WithInvalidCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/books").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Get all books after price cursor with invalid price returns bad request")
+    void getAllBooksAfter_WithInvalidPriceCursor_ReturnsBadRequest() throws Exception {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("price:1:not-a-price".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(get("/books").param("after", cursor).param("sort", "price"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Get books by ids returns found books and missing ids")
+    void getBooksByIds_ReturnsBooksAndMissingIds() throws Exception {
+        mockMvc.perform(get("/books").param("ids", "99," + TEST_BOOK_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books[0].id").value(TEST_BOOK_ID))
+                .andExpect(jsonPath("$.missingIds[0]").value(99));
+    }
+
     @Test
     @WithMockUser
     @DisplayName("Get book by id returns book")
@@ -83,6 +151,22 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.categoryIds").isArray());
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Get book by id with matching ETag returns not modified")
+    void getBookById_WithMatchingEtag_ReturnsNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/books/{id}", TEST_BOOK_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/books/{id}", TEST_BOOK_ID).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN"})
     @SqlMergeMode(SqlMergeMode.MergeMode.OVERRIDE)
@@ -107,6 +191,157 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.categoryIds").isArray());
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Import books from CSV saves valid rows and reports invalid ones")
+    void importBooks_WithCsv_ReturnsImportReport() throws Exception {
+        String csv = """
+                title,author,isbn,price,description,coverImage,categoryIds
+                "Imported, Book",Import Author,9780000000001,12.50,Imported,cover.jpg,
+                Duplicate Book,Import Author,%s,12.50,Duplicate,cover.jpg,
+                Invalid Book,Import Author,9780000000002,-1,Invalid,cover.jpg,
+                """.formatted(TEST_BOOK_ISBN);
+
+        mockMvc.perform(post("/books/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[1].row").value(3));
+        mockMvc.perform(get("/books/search").param("query", "9780000000001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Imported, Book"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Export books as CSV streams every book")
+    void exportBooks_AsCsv_StreamsBooks() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("""
+                        id,title,author,isbn,price,description,coverImage,categoryIds
+                        %d,%s,%s,%s,%s,%s,%s,
+                        """.formatted(TEST_BOOK_ID, TEST_BOOK_TITLE, TEST_BOOK_AUTHOR,
+                        TEST_BOOK_ISBN, TEST_BOOK_PRICE, TEST_BOOK_DESCRIPTION,
+                        TEST_BOOK_COVER_IMAGE)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Upload cover and get a byte range of it")
+    void getCover_WithRange_ReturnsPartialContent() throws Exception {
+        byte[] image = createPng(400, 300);
+        mockMvc.perform(put("/books/{id}/cover", TEST_BOOK_ID)
+                        .contentType(MediaType.IMAGE_PNG)
+                        .content(image))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.coverImage").isNotEmpty());
+
+        MvcResult result = mockMvc.perform(get("/books/{id}/cover", TEST_BOOK_ID)
+                        .header(HttpHeaders.RANGE, "bytes=0-9"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] content = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE,
+                        "bytes 0-9/" + image.length))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(Arrays.copyOf(image, 10), content);
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Get cover thumbnail scales image to requested width")
+    void getCover_WithWidth_ReturnsThumbnail() throws Exception {
+        mockMvc.perform(put("/books/{id}/cover", TEST_BOOK_ID)
+                        .contentType(MediaType.IMAGE_PNG)
+                        .content(createPng(800, 600)))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/books/{id}/cover", TEST_BOOK_ID)
+                        .param("width", "200"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] content = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(content));
+        assertEquals(200, thumbnail.getWidth());
+        assertEquals(150, thumbnail.getHeight());
+    }
+
+    @Test
+    @WithMockUser
+    @SqlMergeMode(SqlMergeMode.MergeMode.OVERRIDE)
+    @Sql(scripts = {"/database/controller/delete-all-books.sql",
+            "/database/controller/insert-default-category.sql",
+            "/database/controller/insert-default-book-with-category.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {"/database/controller/delete-all-books.sql",
+            "/database/controller/delete-all-categories.sql"},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @DisplayName("Search books with facets returns counts per category and author")
+    void searchWithFacets_ReturnsFacetCounts() throws Exception {
+        mockMvc.perform(get("/books/search")
+                        .param("authors", TEST_BOOK_AUTHOR)
+                        .param("categoryIds", "1")
+                        .param("facets", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books[0].id").value(TEST_BOOK_ID))
+                .andExpect(jsonPath("$.categoryCounts['1']").value(1))
+                .andExpect(jsonPath("$.authorCounts['" + TEST_BOOK_AUTHOR + "']").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    @SqlMergeMode(SqlMergeMode.MergeMode.OVERRIDE)
+    @Sql(scripts = {"/database/controller/delete-all-books.sql",
+            "/database/controller/insert-default-category.sql",
+            "/database/controller/insert-default-book-with-category.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {"/database/controller/delete-all-books.sql",
+            "/database/controller/delete-all-categories.sql"},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @DisplayName("Filter books by categories includes and excludes categories")
+    void filterByCategories_ReturnsMatchingBooks() throws Exception {
+        bookIndexManager.rebuild();
+
+        mockMvc.perform(get("/books/filter").param("all", "1").param("none", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(TEST_BOOK_ID))
+                .andExpect(jsonPath("$[0].categoryIds[0]").value(1));
+        mockMvc.perform(get("/books/filter").param("any", "2,3").param("none", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Search books by price range returns only books within range")
+    void searchBooks_ByPriceRange_ReturnsMatchingBooks() throws Exception {
+        mockMvc.perform(get("/books/search")
+                        .param("minPrice", "10")
+                        .param("maxPrice", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(TEST_BOOK_ID));
+        mockMvc.perform(get("/books/search")
+                        .param("minPrice", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN"})
     @DisplayName("Create book with null title returns bad request")
@@ -197,4 +432,11 @@ class BookControllerTest {
                 .andExpect(jsonPath("$[0].coverImage").value(TEST_BOOK_COVER_IMAGE))
                 .andExpect(jsonPath("$[0].categoryIds").isArray());
     }
+
+    private static byte[] createPng(int width, int height) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png",
+                outputStream);
+        return outputStream.toByteArray();
+    }
 }
@@ -8,6 +8,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -19,6 +21,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.jdbc.Sql;
@@ -53,8 +56,9 @@ class CategoryControllerTest {
     @WithMockUser
     @DisplayName("Get all categories returns list of categories")
     void getAllCategories_ReturnsListOfCategories() throws Exception {
-        mockMvc.perform(get("/categories"))
+        mockMvc.perform(get("/categories").param("size", "1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Has-Next", "false"))
                 .andExpect(jsonPath("$[0].id").value(TEST_CATEGORY_ID.intValue()))
                 .andExpect(jsonPath("$[0].name").value(TEST_CATEGORY_NAME))
                 .andExpect(jsonPath("$[0].description").value(TEST_CATEGORY_DESCRIPTION));
@@ -71,6 +75,17 @@ class CategoryControllerTest {
                 .andExpect(jsonPath("$.description").value(TEST_CATEGORY_DESCRIPTION));
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Get category by id with matching ETag returns not modified")
+    void getCategoryById_WithMatchingEtag_ReturnsNotModified() throws Exception {
+        mockMvc.perform(get("/categories/{id}", TEST_CATEGORY_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(content().string(""));
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN"})
     @SqlMergeMode(SqlMergeMode.MergeMode.OVERRIDE)
@@ -0,0 +1,133 @@
+package book.store.controller;
+
+import static book.store.util.TestUtil.TEST_BOOK_ID;
+import static book.store.util.TestUtil.TEST_BOOK_TITLE;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import book.store.dto.cart.item.CartItemBatchRequestDto;
+import book.store.dto.cart.item.CartItemOperationDto;
+import book.store.dto.cart.item.CartItemOperationDto.Type;
+import book.store.dto.cart.item.CartItemRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/database/controller/insert-default-book.sql",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"/database/controller/delete-all-cart-items.sql",
+        "/database/controller/delete-all-books.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ShoppingCartControllerTest {
+    private static final String USER_EMAIL = "user.book.store@gmail.com";
+    private static final Long FIRST_ITEM_ID = 1L;
+    private static final Long MISSING_ID = 99L;
+
+    private static MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    @WithUserDetails(USER_EMAIL)
+    @DisplayName("Adding the same book twice sums the quantity in one cart item")
+    void addCartItem_SameBookTwice_SumsQuantity() throws Exception {
+        addCartItem(new CartItemRequestDto(TEST_BOOK_ID, 2))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cartItems.length()").value(1))
+                .andExpect(jsonPath("$.cartItems[0].quantity").value(2));
+
+        addCartItem(new CartItemRequestDto(TEST_BOOK_ID, 3))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cartItems.length()").value(1))
+                .andExpect(jsonPath("$.cartItems[0].id").value(FIRST_ITEM_ID))
+                .andExpect(jsonPath("$.cartItems[0].bookTitle").value(TEST_BOOK_TITLE))
+                .andExpect(jsonPath("$.cartItems[0].quantity").value(5));
+    }
+
+    @Test
+    @WithUserDetails(USER_EMAIL)
+    @DisplayName("Batch adds a book and then updates the added item")
+    void applyBatch_AddThenUpdate_ReturnsUpdatedCart() throws Exception {
+        applyBatch(new CartItemOperationDto(Type.ADD, TEST_BOOK_ID, null, 2),
+                new CartItemOperationDto(Type.ADD, TEST_BOOK_ID, null, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cartItems.length()").value(1))
+                .andExpect(jsonPath("$.cartItems[0].id").value(FIRST_ITEM_ID))
+                .andExpect(jsonPath("$.cartItems[0].bookTitle").value(TEST_BOOK_TITLE))
+                .andExpect(jsonPath("$.cartItems[0].quantity").value(3));
+
+        applyBatch(new CartItemOperationDto(Type.UPDATE, null, FIRST_ITEM_ID, 5))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cartItems[0].id").value(FIRST_ITEM_ID))
+                .andExpect(jsonPath("$.cartItems[0].quantity").value(5));
+    }
+
+    @Test
+    @WithUserDetails(USER_EMAIL)
+    @DisplayName("Batch removes an item from the cart")
+    void applyBatch_Remove_ReturnsCartWithoutItem() throws Exception {
+        applyBatch(new CartItemOperationDto(Type.ADD, TEST_BOOK_ID, null, 1))
+                .andExpect(status().isOk());
+
+        applyBatch(new CartItemOperationDto(Type.REMOVE, null, FIRST_ITEM_ID, null))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cartItems").isEmpty());
+    }
+
+    @Test
+    @WithUserDetails(USER_EMAIL)
+    @DisplayName("Batch with an unknown item id returns not found and applies nothing")
+    void applyBatch_WithUnknownItemId_ReturnsNotFound() throws Exception {
+        applyBatch(new CartItemOperationDto(Type.ADD, TEST_BOOK_ID, null, 1),
+                new CartItemOperationDto(Type.UPDATE, null, MISSING_ID, 2))
+                .andExpect(status().isNotFound());
+
+        applyBatch(new CartItemOperationDto(Type.ADD, TEST_BOOK_ID, null, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cartItems[0].quantity").value(1));
+    }
+
+    @Test
+    @WithUserDetails(USER_EMAIL)
+    @DisplayName("Batch with a missing book returns not found")
+    void applyBatch_WithMissingBook_ReturnsNotFound() throws Exception {
+        applyBatch(new CartItemOperationDto(Type.ADD, MISSING_ID, null, 1))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions addCartItem(CartItemRequestDto requestDto) throws Exception {
+        return mockMvc.perform(post("/cart")
+                .content(objectMapper.writeValueAsString(requestDto))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    private ResultActions applyBatch(CartItemOperationDto... operations) throws Exception {
+        return mockMvc.perform(post("/cart/batch")
+                .content(objectMapper.writeValueAsString(
+                        new CartItemBatchRequestDto(List.of(operations))))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+}
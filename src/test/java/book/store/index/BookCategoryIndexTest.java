@@ -0,0 +1,65 @@
+package book.store.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import book.store.model.Book;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookCategoryIndexTest {
+    private static final int LIMIT = 10;
+
+    private final BookCategoryIndex bookCategoryIndex = new BookCategoryIndex();
+
+    @BeforeEach
+    void setUp() {
+        bookCategoryIndex.index(createBook(1L), Set.of(1L, 2L));
+        bookCategoryIndex.index(createBook(2L), Set.of(1L));
+        bookCategoryIndex.index(createBook(3L), Set.of(2L, 3L));
+        bookCategoryIndex.index(createBook(4L), Set.of());
+    }
+
+    @Test
+    @DisplayName("Filter intersects, unites and excludes categories")
+    void filter_WithAllAnyAndNone_ReturnsMatchingIds() {
+        assertEquals(List.of(1L), bookCategoryIndex.filter(List.of(1L, 2L), List.of(),
+                List.of(), 0, LIMIT));
+        assertEquals(List.of(1L, 3L), bookCategoryIndex.filter(List.of(), List.of(2L, 3L),
+                List.of(), 0, LIMIT));
+        assertEquals(List.of(2L, 4L), bookCategoryIndex.filter(List.of(), List.of(),
+                List.of(2L), 0, LIMIT));
+        assertEquals(List.of(), bookCategoryIndex.filter(List.of(1L, 9L), List.of(),
+                List.of(), 0, LIMIT));
+    }
+
+    @Test
+    @DisplayName("Filter pages matching ids in ascending order")
+    void filter_WithOffset_ReturnsPage() {
+        assertEquals(List.of(2L, 3L), bookCategoryIndex.filter(List.of(), List.of(),
+                List.of(), 1, 2));
+        assertEquals(List.of(), bookCategoryIndex.filter(List.of(), List.of(),
+                List.of(), 4, 2));
+    }
+
+    @Test
+    @DisplayName("Reindexed, removed books and removed categories are not matched")
+    void filter_AfterWrites_ReflectsChanges() {
+        bookCategoryIndex.index(createBook(2L), Set.of(3L));
+        bookCategoryIndex.remove(1L);
+        bookCategoryIndex.removeCategory(2L);
+
+        assertEquals(List.of(), bookCategoryIndex.filter(List.of(1L), List.of(),
+                List.of(), 0, LIMIT));
+        assertEquals(List.of(2L, 3L), bookCategoryIndex.filter(List.of(), List.of(2L, 3L),
+                List.of(), 0, LIMIT));
+    }
+
+    private static Book createBook(Long id) {
+        Book book = new Book();
+        book.setId(id);
+        return book;
+    }
+}
@@ -0,0 +1,80 @@
+package book.store.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import book.store.dto.book.BookSuggestionDto;
+import book.store.model.Book;
+import book.store.repository.order.OrderItemRepository;
+import book.store.util.TestUtil;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookSuggestionIndexTest {
+    private static final int LIMIT = 10;
+
+    private final BookSuggestionIndex bookSuggestionIndex =
+            new BookSuggestionIndex(mock(OrderItemRepository.class));
+
+    @Test
+    @DisplayName("Suggest matches the start of any word and ranks by popularity")
+    void suggest_WithWordPrefix_ReturnsMostPopularFirst() {
+        bookSuggestionIndex.index(createBook(1L, "Harry Potter", "J. K. Rowling"));
+        bookSuggestionIndex.index(createBook(2L, "Pottery Basics", "Ann Smith"));
+        bookSuggestionIndex.recordSale(2L, 5);
+
+        List<BookSuggestionDto> actual = bookSuggestionIndex.suggest("Pott", LIMIT);
+
+        assertEquals(List.of(
+                new BookSuggestionDto("Pottery Basics", BookSuggestionDto.Type.TITLE),
+                new BookSuggestionDto("Harry Potter", BookSuggestionDto.Type.TITLE)), actual);
+    }
+
+    @Test
+    @DisplayName("Suggest returns authors shared by several books once")
+    void suggest_WithSharedAuthor_ReturnsSingleSuggestion() {
+        bookSuggestionIndex.index(createBook(1L, "Clean Code", "Robert Martin"));
+        bookSuggestionIndex.index(createBook(2L, "Clean Architecture", "Robert Martin"));
+
+        assertEquals(List.of(new BookSuggestionDto("Robert Martin", BookSuggestionDto.Type.AUTHOR)),
+                bookSuggestionIndex.suggest("rob", LIMIT));
+    }
+
+    @Test
+    @DisplayName("Suggest does not return removed books")
+    void suggest_AfterRemove_ReturnsNothing() {
+        bookSuggestionIndex.index(createBook(1L, "Clean Code", "Robert Martin"));
+
+        bookSuggestionIndex.remove(1L);
+
+        assertTrue(bookSuggestionIndex.suggest("c", LIMIT).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Suggest keeps suggestions that share a prefix with a removed book")
+    void suggest_AfterRemoveOfSharedPrefix_ReturnsRemainingBook() {
+        bookSuggestionIndex.index(createBook(1L, "Potter", "Ann Smith"));
+        bookSuggestionIndex.index(createBook(2L, "Pottery", "Ann Smith"));
+        bookSuggestionIndex.index(createBook(3L, "Potash", "Ann Smith"));
+
+        bookSuggestionIndex.remove(1L);
+
+        assertEquals(List.of(
+                new BookSuggestionDto("Potash", BookSuggestionDto.Type.TITLE),
+                new BookSuggestionDto("Pottery", BookSuggestionDto.Type.TITLE)),
+                bookSuggestionIndex.suggest("pot", LIMIT));
+        assertEquals(List.of(new BookSuggestionDto("Pottery", BookSuggestionDto.Type.TITLE)),
+                bookSuggestionIndex.suggest("potte", LIMIT));
+        assertTrue(bookSuggestionIndex.suggest("potters", LIMIT).isEmpty());
+    }
+
+    private Book createBook(Long id, String title, String author) {
+        Book book = TestUtil.createTestBook();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        return book;
+    }
+}
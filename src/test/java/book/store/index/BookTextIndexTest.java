@@ -0,0 +1,71 @@
+package book.store.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import book.store.model.Book;
+import book.store.util.TestUtil;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookTextIndexTest {
+    private static final int LIMIT = 10;
+
+    private final BookTextIndex bookTextIndex = new BookTextIndex();
+
+    @Test
+    @DisplayName("Search ranks title matches above description matches")
+    void search_WithMatchesInDifferentFields_RanksByFieldWeight() {
+        bookTextIndex.index(createBook(1L, "Clean Code", "Robert Martin", "About refactoring"));
+        bookTextIndex.index(createBook(2L, "Refactoring", "Martin Fowler", "Improving code"));
+
+        List<Long> actual = bookTextIndex.search("refactoring", LIMIT);
+
+        assertEquals(List.of(2L, 1L), actual);
+    }
+
+    @Test
+    @DisplayName("Search is case insensitive and matches words in author")
+    void search_WithDifferentCase_ReturnsMatchingBooks() {
+        bookTextIndex.index(createBook(1L, "Clean Code", "Robert Martin", null));
+
+        assertEquals(List.of(1L), bookTextIndex.search("MARTIN", LIMIT));
+    }
+
+    @Test
+    @DisplayName("Removed and re-indexed books are not returned by stale terms")
+    void search_AfterRemoveAndReindex_ReturnsCurrentState() {
+        bookTextIndex.index(createBook(1L, "Clean Code", "Robert Martin", null));
+        bookTextIndex.index(createBook(2L, "Clean Architecture", "Robert Martin", null));
+
+        bookTextIndex.remove(2L);
+        bookTextIndex.index(createBook(1L, "Dirty Code", "Robert Martin", null));
+
+        assertTrue(bookTextIndex.search("clean", LIMIT).isEmpty());
+        assertEquals(List.of(1L), bookTextIndex.search("dirty", LIMIT));
+    }
+
+    @Test
+    @DisplayName("Search keeps using the current entries until a rebuild is published")
+    void search_DuringRebuild_ReturnsCurrentEntries() {
+        bookTextIndex.index(createBook(1L, "Clean Code", "Robert Martin", null));
+
+        BookIndex.Rebuild rebuild = bookTextIndex.startRebuild();
+        rebuild.index().index(createBook(2L, "Refactoring", "Martin Fowler", null));
+        assertEquals(List.of(1L), bookTextIndex.search("martin", LIMIT));
+
+        rebuild.publish().run();
+        assertEquals(List.of(2L), bookTextIndex.search("martin", LIMIT));
+    }
+
+    private Book createBook(Long id, String title, String author, String description) {
+        Book book = TestUtil.createTestBook();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setDescription(description);
+        book.setIsbn(String.valueOf(id));
+        return book;
+    }
+}
@@ -0,0 +1,66 @@
+package book.store.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import book.store.model.Book;
+import book.store.util.TestUtil;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookTrigramIndexTest {
+    private static final int LIMIT = 10;
+    private static final long COMMON_BOOKS = 10_001;
+
+    private final BookTrigramIndex bookTrigramIndex = new BookTrigramIndex();
+
+    @Test
+    @DisplayName("Search tolerates misspelled titles and ranks closest match first")
+    void search_WithMisspelledTitle_ReturnsClosestBooksFirst() {
+        bookTrigramIndex.index(createBook(1L, "Harry Potter and the Philosopher's Stone",
+                "J. K. Rowling"));
+        bookTrigramIndex.index(createBook(2L, "Harry Potter", "J. K. Rowling"));
+        bookTrigramIndex.index(createBook(3L, "The Hobbit", "J. R. R. Tolkien"));
+
+        assertEquals(List.of(2L, 1L), bookTrigramIndex.search("hary poter", LIMIT));
+    }
+
+    @Test
+    @DisplayName("Search matches misspelled authors")
+    void search_WithMisspelledAuthor_ReturnsBook() {
+        bookTrigramIndex.index(createBook(1L, "The Hobbit", "J. R. R. Tolkien"));
+
+        assertEquals(List.of(1L), bookTrigramIndex.search("tolkein", LIMIT));
+    }
+
+    @Test
+    @DisplayName("Search does not return removed books")
+    void search_AfterRemove_ReturnsNothing() {
+        bookTrigramIndex.index(createBook(1L, "The Hobbit", "J. R. R. Tolkien"));
+
+        bookTrigramIndex.remove(1L);
+
+        assertTrue(bookTrigramIndex.search("hobbit", LIMIT).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Search skips grams shared by more books than the candidate limit")
+    void search_WithCommonGrams_ScoresOnlySelectiveGrams() {
+        for (long id = 1; id <= COMMON_BOOKS; id++) {
+            bookTrigramIndex.index(createBook(id, "The Book " + id, "Author " + id));
+        }
+        bookTrigramIndex.index(createBook(COMMON_BOOKS + 1, "The Zyxwv", "Someone"));
+
+        assertTrue(bookTrigramIndex.search("the", LIMIT).isEmpty());
+        assertEquals(List.of(COMMON_BOOKS + 1), bookTrigramIndex.search("the zyxwv", LIMIT));
+    }
+
+    private Book createBook(Long id, String title, String author) {
+        Book book = TestUtil.createTestBook();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        return book;
+    }
+}
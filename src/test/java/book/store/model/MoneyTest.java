@@ -0,0 +1,38 @@
+package book.store.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+    @Test
+    @DisplayName("Amounts convert to cents and back without losing the scale")
+    void of_WithDecimalAmount_KeepsCents() {
+        Money money = Money.of(new BigDecimal("19.99"));
+
+        assertEquals(1999, money.cents());
+        assertEquals(new BigDecimal("19.99"), money.toBigDecimal());
+        assertEquals("19.99", money.toString());
+        assertEquals(Money.ofCents(1000), Money.of(BigDecimal.TEN));
+    }
+
+    @Test
+    @DisplayName("Fractions of a cent are rounded half up like a DECIMAL column")
+    void of_WithFractionOfCent_RoundsHalfUp() {
+        assertEquals(Money.ofCents(1000), Money.of(new BigDecimal("9.995")));
+        assertEquals(Money.ofCents(999), Money.of(new BigDecimal("9.994")));
+    }
+
+    @Test
+    @DisplayName("Totals are exact and overflow is reported")
+    void arithmetic_IsExact() {
+        Money total = Money.of(new BigDecimal("0.10")).times(3)
+                .plus(Money.of(new BigDecimal("0.20")));
+
+        assertEquals(new BigDecimal("0.50"), total.toBigDecimal());
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE).times(2));
+    }
+}
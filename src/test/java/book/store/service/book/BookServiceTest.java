@@ -7,37 +7,56 @@ import static book.store.util.TestUtil.TEST_CATEGORY_ID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import book.store.catalog.CatalogSnapshotManager;
 import book.store.dto.book.BookDto;
 import book.store.dto.book.BookDtoWithoutCategoryIds;
 import book.store.dto.book.BookSearchParametersDto;
+import book.store.dto.book.BookSearchResultDto;
 import book.store.dto.book.CreateBookRequestDto;
+import book.store.dto.page.CursorPageDto;
 import book.store.exception.EntityNotFoundException;
+import book.store.exception.InvalidRequestParameterException;
+import book.store.index.BookCategoryIndex;
+import book.store.index.BookRemovedEvent;
+import book.store.index.BookSuggestionIndex;
+import book.store.index.BookTextIndex;
+import book.store.index.BookTrigramIndex;
 import book.store.mapper.BookMapper;
 import book.store.model.Book;
+import book.store.model.Money;
+import book.store.repository.book.BookCategoryView;
+import book.store.repository.book.BookCursor;
 import book.store.repository.book.BookRepository;
 import book.store.repository.book.BookSpecificationBuilder;
 import book.store.service.book.impl.BookServiceImpl;
 import book.store.util.TestUtil;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,6 +70,18 @@ class BookServiceTest {
     private BookMapper bookMapper;
     @Mock
     private BookSpecificationBuilder bookSpecificationBuilder;
+    @Mock
+    private BookTextIndex bookTextIndex;
+    @Mock
+    private BookSuggestionIndex bookSuggestionIndex;
+    @Mock
+    private BookTrigramIndex bookTrigramIndex;
+    @Mock
+    private CatalogSnapshotManager catalogSnapshotManager;
+    @Mock
+    private BookCategoryIndex bookCategoryIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private BookServiceImpl bookService;
@@ -106,24 +137,48 @@ class BookServiceTest {
     }
 
     @Test
-    @DisplayName("Get all books returns page of books")
-    void getAllBooks_ReturnsPageOfBooks() {
+    @DisplayName("Get all books returns slice of books without counting them")
+    void getAllBooks_ReturnsSliceOfBooks() {
         Pageable pageable = PageRequest.of(PAGE_NUMBER, PAGE_SIZE);
         Book testBook = TestUtil.createTestBook();
         testBook.setId(TEST_BOOK_ID);
         List<Book> books = List.of(testBook);
-        Page<Book> bookPage = new PageImpl<>(books, pageable, books.size());
+        Slice<Book> bookSlice = new SliceImpl<>(books, pageable, true);
         List<BookDto> expectedDtos = List.of(TestUtil.createTestBookDto());
 
-        when(bookRepository.findAll(pageable)).thenReturn(bookPage);
-        when(bookMapper.toDtoList(bookPage)).thenReturn(expectedDtos);
+        when(bookRepository.findAllBy(pageable)).thenReturn(bookSlice);
+        when(bookRepository.findCategoryIdsByBookIds(List.of(TEST_BOOK_ID)))
+                .thenReturn(List.of(createBookCategoryView(TEST_BOOK_ID, TEST_CATEGORY_ID)));
+        Map<Long, Set<Long>> categoryIds = Map.of(TEST_BOOK_ID, Set.of(TEST_CATEGORY_ID));
+        when(bookMapper.toDtoList(books, categoryIds)).thenReturn(expectedDtos);
 
-        List<BookDto> actual = bookService.getAll(pageable);
+        Slice<BookDto> actual = bookService.getAll(pageable);
 
-        assertEquals(expectedDtos.size(), actual.size());
-        assertEquals(expectedDtos, actual);
-        verify(bookRepository, times(1)).findAll(pageable);
-        verify(bookMapper, times(1)).toDtoList(bookPage);
+        assertEquals(expectedDtos, actual.getContent());
+        assertTrue(actual.hasNext());
+        verify(bookRepository, times(1)).findAllBy(pageable);
+        verify(bookRepository, never()).count();
+        verify(bookRepository, times(1)).findCategoryIdsByBookIds(List.of(TEST_BOOK_ID));
+        verify(bookMapper, times(1)).toDtoList(books, categoryIds);
+    }
+
+    @Test
+    @DisplayName("Get all books after cursor fetches one extra row to build next cursor")
+    void getAllBooksAfterCursor_WithMoreRows_ReturnsNextCursor() {
+        Book firstBook = TestUtil.createTestBook();
+        firstBook.setId(TEST_BOOK_ID);
+        Book secondBook = TestUtil.createTestBook();
+        secondBook.setId(TEST_BOOK_ID + 1);
+        when(bookRepository.findAllAfter(any(Specification.class), eq(Sort.by("id")), eq(2)))
+                .thenReturn(List.of(firstBook, secondBook));
+        BookDto expectedDto = TestUtil.createTestBookDto();
+        when(bookMapper.toDtoList(List.of(firstBook), Map.of())).thenReturn(List.of(expectedDto));
+
+        CursorPageDto<BookDto> actual = bookService.getAll("", "id", 1);
+
+        assertEquals(List.of(expectedDto), actual.content());
+        assertEquals(new BookCursor("id", String.valueOf(TEST_BOOK_ID), TEST_BOOK_ID),
+                BookCursor.decode(actual.nextCursor(), "id"));
     }
 
     @Test
@@ -131,27 +186,105 @@ class BookServiceTest {
     void search_WithValidParameters_ReturnsBooks() {
         BookSearchParametersDto params = new BookSearchParametersDto(
                 new String[]{TEST_BOOK_TITLE},
-                new String[]{TEST_BOOK_AUTHOR}
+                new String[]{TEST_BOOK_AUTHOR},
+                null,
+                null,
+                null,
+                null,
+                null,
+                null
         );
         Pageable pageable = PageRequest.of(PAGE_NUMBER, PAGE_SIZE);
         Book testBook = TestUtil.createTestBook();
         testBook.setId(TEST_BOOK_ID);
         List<Book> books = List.of(testBook);
-        Page<Book> bookPage = new PageImpl<>(books, pageable, books.size());
+        Slice<Book> bookSlice = new SliceImpl<>(books, pageable, false);
         List<BookDto> expectedDtos = List.of(TestUtil.createTestBookDto());
 
         Specification<Book> mockSpec = mock(Specification.class);
         when(bookSpecificationBuilder.build(params)).thenReturn(mockSpec);
-        when(bookRepository.findAll(mockSpec, pageable)).thenReturn(bookPage);
-        when(bookMapper.toDtoList(bookPage)).thenReturn(expectedDtos);
+        when(bookRepository.findSlice(mockSpec, pageable)).thenReturn(bookSlice);
+        when(bookMapper.toDtoList(books, Map.of())).thenReturn(expectedDtos);
 
         List<BookDto> actual = bookService.search(params, pageable);
 
         assertEquals(expectedDtos.size(), actual.size());
         assertEquals(expectedDtos, actual);
         verify(bookSpecificationBuilder, times(1)).build(params);
-        verify(bookRepository, times(1)).findAll(mockSpec, pageable);
-        verify(bookMapper, times(1)).toDtoList(bookPage);
+        verify(bookRepository, times(1)).findSlice(mockSpec, pageable);
+        verify(bookMapper, times(1)).toDtoList(books, Map.of());
+    }
+
+    @Test
+    @DisplayName("Search books by full-text query returns books in rank order")
+    void search_WithQuery_ReturnsBooksInRankOrder() {
+        Book firstBook = TestUtil.createTestBook();
+        firstBook.setId(2L);
+        Book secondBook = TestUtil.createTestBook();
+        secondBook.setId(TEST_BOOK_ID);
+        BookDto firstDto = TestUtil.createTestBookDto();
+        firstDto.setId(2L);
+        BookDto secondDto = TestUtil.createTestBookDto();
+        when(bookMapper.toDtoList(List.of(firstBook, secondBook), Map.of()))
+                .thenReturn(List.of(firstDto, secondDto));
+
+        Specification<Book> mockSpec = mock(Specification.class);
+        when(mockSpec.and(any())).thenReturn(mockSpec);
+        when(bookTextIndex.search(eq(TEST_BOOK_TITLE), anyInt()))
+                .thenReturn(List.of(2L, TEST_BOOK_ID));
+        when(bookRepository.findIds(mockSpec)).thenReturn(List.of(TEST_BOOK_ID, 2L));
+        when(bookRepository.findAllById(List.of(2L, TEST_BOOK_ID)))
+                .thenReturn(List.of(secondBook, firstBook));
+        BookSearchParametersDto params = new BookSearchParametersDto(
+                null, null, null, null, null, null, TEST_BOOK_TITLE, null);
+        when(bookSpecificationBuilder.build(params)).thenReturn(mockSpec);
+
+        Pageable pageable = PageRequest.of(PAGE_NUMBER, PAGE_SIZE);
+        List<BookDto> actual = bookService.search(params, pageable);
+
+        assertEquals(List.of(firstDto, secondDto), actual);
+        verify(bookRepository, never()).findSlice(mockSpec, pageable);
+    }
+
+    @Test
+    @DisplayName("Search with facets ranks the query once and limits facet counts")
+    void searchWithFacets_WithQuery_RanksOnceAndLimitsFacets() {
+        Book book = TestUtil.createTestBook();
+        book.setId(TEST_BOOK_ID);
+        BookDto bookDto = TestUtil.createTestBookDto();
+        when(bookMapper.toDtoList(List.of(book), Map.of())).thenReturn(List.of(bookDto));
+
+        Specification<Book> mockSpec = mock(Specification.class);
+        when(mockSpec.and(any())).thenReturn(mockSpec);
+        when(bookTextIndex.search(eq(TEST_BOOK_TITLE), anyInt()))
+                .thenReturn(List.of(TEST_BOOK_ID));
+        when(bookRepository.findIds(mockSpec)).thenReturn(List.of(TEST_BOOK_ID));
+        when(bookRepository.findAllById(List.of(TEST_BOOK_ID))).thenReturn(List.of(book));
+        when(bookRepository.countByCategoryId(eq(mockSpec), anyInt()))
+                .thenReturn(Map.of(TEST_CATEGORY_ID, 1L));
+        when(bookRepository.countByAuthor(eq(mockSpec), anyInt()))
+                .thenReturn(Map.of(TEST_BOOK_AUTHOR, 1L));
+        BookSearchParametersDto params = new BookSearchParametersDto(
+                null, null, null, null, null, null, TEST_BOOK_TITLE, null);
+        when(bookSpecificationBuilder.build(params)).thenReturn(mockSpec);
+
+        BookSearchResultDto actual = bookService.searchWithFacets(params,
+                PageRequest.of(PAGE_NUMBER, PAGE_SIZE));
+
+        assertEquals(List.of(bookDto), actual.books());
+        assertEquals(Map.of(TEST_CATEGORY_ID, 1L), actual.categoryCounts());
+        verify(bookTextIndex, times(1)).search(eq(TEST_BOOK_TITLE), anyInt());
+        verify(bookRepository).countByAuthor(mockSpec, 20);
+    }
+
+    @Test
+    @DisplayName("Suggest with a limit outside 1..MAX_SUGGESTIONS is rejected")
+    void suggest_WithInvalidLimit_ThrowsException() {
+        assertThrows(InvalidRequestParameterException.class,
+                () -> bookService.suggest("ha", -1));
+        assertThrows(InvalidRequestParameterException.class,
+                () -> bookService.suggest("ha", BookSuggestionIndex.MAX_SUGGESTIONS + 1));
+        verify(bookSuggestionIndex, never()).suggest(any(), anyInt());
     }
 
     @Test
@@ -192,7 +325,7 @@ class BookServiceTest {
         bookAfterUpdate.setTitle(requestDto.getTitle());
         bookAfterUpdate.setAuthor(requestDto.getAuthor());
         bookAfterUpdate.setIsbn(requestDto.getIsbn());
-        bookAfterUpdate.setPrice(requestDto.getPrice());
+        bookAfterUpdate.setPrice(Money.of(requestDto.getPrice()));
         bookAfterUpdate.setDescription(requestDto.getDescription());
         bookAfterUpdate.setCoverImage(requestDto.getCoverImage());
 
@@ -209,7 +342,7 @@ class BookServiceTest {
         assertEquals(requestDto.getTitle(), existingBook.getTitle());
         assertEquals(requestDto.getAuthor(), existingBook.getAuthor());
         assertEquals(requestDto.getIsbn(), existingBook.getIsbn());
-        assertEquals(requestDto.getPrice(), existingBook.getPrice());
+        assertEquals(Money.of(requestDto.getPrice()), existingBook.getPrice());
         assertEquals(requestDto.getDescription(), existingBook.getDescription());
         assertEquals(requestDto.getCoverImage(), existingBook.getCoverImage());
 
@@ -236,8 +369,23 @@ class BookServiceTest {
         assertEquals(expectedDto, actualDto);
         verify(bookRepository, times(1)).findById(TEST_BOOK_ID);
         verify(bookRepository, times(1)).delete(bookEntityFromDb);
+        verify(eventPublisher).publishEvent(new BookRemovedEvent(TEST_BOOK_ID));
         verify(bookMapper, times(1)).toDto(argThat(book ->
                 book.getId().equals(TEST_BOOK_ID) && book.isDeleted()
         ));
     }
+
+    private BookCategoryView createBookCategoryView(Long bookId, Long categoryId) {
+        return new BookCategoryView() {
+            @Override
+            public Long getBookId() {
+                return bookId;
+            }
+
+            @Override
+            public Long getCategoryId() {
+                return categoryId;
+            }
+        };
+    }
 }
@@ -1,7 +1,9 @@
 package book.store.service.category;
 
 import static book.store.util.TestUtil.TEST_CATEGORY_ID;
+import static book.store.util.TestUtil.TEST_VERSION;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -11,9 +13,11 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import book.store.catalog.CatalogSnapshotManager;
 import book.store.dto.category.CategoryDto;
 import book.store.dto.category.CreateCategoryRequestDto;
 import book.store.exception.EntityNotFoundException;
+import book.store.index.BookCategoryIndex;
 import book.store.mapper.CategoryMapper;
 import book.store.model.Category;
 import book.store.repository.category.CategoryRepository;
@@ -27,10 +31,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 @ExtendWith(MockitoExtension.class)
 class CategoryServiceTest {
@@ -43,6 +48,12 @@ class CategoryServiceTest {
     private CategoryRepository categoryRepository;
     @Mock
     private CategoryMapper categoryMapper;
+    @Mock
+    private CatalogSnapshotManager catalogSnapshotManager;
+    @Mock
+    private BookCategoryIndex bookCategoryIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private CategoryServiceImpl categoryService;
@@ -100,24 +111,25 @@ class CategoryServiceTest {
     }
 
     @Test
-    @DisplayName("Get all categories returns page of categories")
-    void getAllCategories_ReturnsPageOfCategories() {
+    @DisplayName("Get all categories returns slice of categories without counting them")
+    void getAllCategories_ReturnsSliceOfCategories() {
         Pageable pageable = PageRequest.of(PAGE_NUMBER, PAGE_SIZE);
         Category testCategory = TestUtil.createTestCategory();
         testCategory.setId(TEST_CATEGORY_ID);
         List<Category> categories = List.of(testCategory);
-        Page<Category> categoryPage = new PageImpl<>(categories, pageable, categories.size());
+        Slice<Category> categorySlice = new SliceImpl<>(categories, pageable, false);
         List<CategoryDto> expectedDtos = List.of(TestUtil.createTestCategoryDto());
 
-        when(categoryRepository.findAll(pageable)).thenReturn(categoryPage);
-        when(categoryMapper.toDtoList(categoryPage)).thenReturn(expectedDtos);
+        when(categoryRepository.findAllBy(pageable)).thenReturn(categorySlice);
+        when(categoryMapper.toDtoList(categories)).thenReturn(expectedDtos);
 
-        List<CategoryDto> actual = categoryService.getAll(pageable);
+        Slice<CategoryDto> actual = categoryService.getAll(pageable);
 
-        assertEquals(expectedDtos.size(), actual.size());
-        assertEquals(expectedDtos, actual);
-        verify(categoryRepository, times(1)).findAll(pageable);
-        verify(categoryMapper, times(1)).toDtoList(categoryPage);
+        assertEquals(expectedDtos, actual.getContent());
+        assertFalse(actual.hasNext());
+        verify(categoryRepository, times(1)).findAllBy(pageable);
+        verify(categoryRepository, never()).count();
+        verify(categoryMapper, times(1)).toDtoList(categories);
     }
 
     @Test
@@ -138,7 +150,8 @@ class CategoryServiceTest {
         CategoryDto expectedDto = new CategoryDto(
                 TEST_CATEGORY_ID.intValue(),
                 UPDATED_CATEGORY_NAME,
-                UPDATED_CATEGORY_DESCRIPTION
+                UPDATED_CATEGORY_DESCRIPTION,
+                TEST_VERSION
         );
 
         when(categoryRepository.findById(TEST_CATEGORY_ID))
@@ -166,7 +179,7 @@ class CategoryServiceTest {
         requestDto.setDescription(UPDATED_CATEGORY_DESCRIPTION);
 
         CategoryDto dummyDto = new CategoryDto(TEST_CATEGORY_ID.intValue(),
-                UPDATED_CATEGORY_NAME, UPDATED_CATEGORY_DESCRIPTION);
+                UPDATED_CATEGORY_NAME, UPDATED_CATEGORY_DESCRIPTION, TEST_VERSION);
 
         when(categoryRepository.findById(TEST_CATEGORY_ID)).thenReturn(Optional.of(category));
         when(categoryRepository.save(any(Category.class))).thenReturn(category);
@@ -0,0 +1,149 @@
+package book.store.service.order;
+
+import static book.store.util.TestUtil.TEST_BOOK_ID;
+import static book.store.util.TestUtil.TEST_BOOK_PRICE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.dto.order.OrderCheckoutDto;
+import book.store.dto.order.OrderRequestDto;
+import book.store.exception.CheckoutQueueFullException;
+import book.store.exception.EntityNotFoundException;
+import book.store.exception.OrderProcessingException;
+import book.store.index.BookSuggestionIndex;
+import book.store.model.Money;
+import book.store.repository.cart.item.CartItemJdbcRepository;
+import book.store.repository.cart.item.CartItemRepository;
+import book.store.repository.order.CheckoutItemRow;
+import book.store.repository.order.OrderItemRow;
+import book.store.repository.order.OrderJdbcRepository;
+import book.store.repository.order.OrderRow;
+import book.store.service.order.impl.OrderCheckoutServiceImpl;
+import book.store.service.shopping.cart.ShoppingCartService;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class OrderCheckoutServiceTest {
+    private static final Long USER_ID = 2L;
+    private static final Long OTHER_USER_ID = 3L;
+    private static final Long CART_ITEM_ID = 7L;
+    private static final Long ORDER_ID = 11L;
+    private static final int QUANTITY = 2;
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private final ShoppingCartService shoppingCartService = mock(ShoppingCartService.class);
+    private final CartItemRepository cartItemRepository = mock(CartItemRepository.class);
+    private final CartItemJdbcRepository cartItemJdbcRepository =
+            mock(CartItemJdbcRepository.class);
+    private final OrderJdbcRepository orderJdbcRepository = mock(OrderJdbcRepository.class);
+    private final BookSuggestionIndex bookSuggestionIndex = mock(BookSuggestionIndex.class);
+    private OrderCheckoutServiceImpl orderCheckoutService;
+
+    @BeforeEach
+    void setUp() {
+        orderCheckoutService = new OrderCheckoutServiceImpl(shoppingCartService,
+                cartItemRepository, cartItemJdbcRepository, orderJdbcRepository,
+                bookSuggestionIndex, mock(PlatformTransactionManager.class), 1, 10, 10,
+                Duration.ofMinutes(1), Duration.ofSeconds(5));
+        orderCheckoutService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderCheckoutService.stop();
+    }
+
+    @Test
+    @DisplayName("Queued checkout is placed with batched order and item inserts")
+    void submit_WithItemsInCart_PlacesOrder() throws InterruptedException {
+        when(cartItemRepository.existsByShoppingCartId(USER_ID)).thenReturn(true);
+        when(orderJdbcRepository.findCheckoutItemsForUpdate(Set.of(USER_ID)))
+                .thenReturn(List.of(new CheckoutItemRow(CART_ITEM_ID, USER_ID, TEST_BOOK_ID,
+                        QUANTITY, Money.of(TEST_BOOK_PRICE))));
+        when(orderJdbcRepository.insertOrders(any())).thenReturn(List.of(ORDER_ID));
+
+        OrderCheckoutDto queued = orderCheckoutService.submit(createRequestDto(), USER_ID);
+        OrderCheckoutDto placed = awaitCompletion(queued.reference());
+
+        assertEquals(OrderCheckoutDto.Status.PLACED, placed.status());
+        assertEquals(ORDER_ID, placed.orderId());
+        verify(shoppingCartService).flush(USER_ID);
+        ArgumentCaptor<List<OrderRow>> orders = ArgumentCaptor.captor();
+        verify(orderJdbcRepository).insertOrders(orders.capture());
+        assertEquals(USER_ID, orders.getValue().get(0).userId());
+        assertEquals(Money.of(TEST_BOOK_PRICE).times(QUANTITY),
+                orders.getValue().get(0).total());
+        verify(orderJdbcRepository).insertOrderItems(List.of(new OrderItemRow(ORDER_ID,
+                TEST_BOOK_ID, QUANTITY, Money.of(TEST_BOOK_PRICE))));
+        verify(cartItemJdbcRepository).deleteAllById(List.of(CART_ITEM_ID));
+        verify(bookSuggestionIndex).recordSale(TEST_BOOK_ID, QUANTITY);
+    }
+
+    @Test
+    @DisplayName("Checkout with an empty cart is rejected before it is queued")
+    void submit_WithEmptyCart_ThrowsException() {
+        when(cartItemRepository.existsByShoppingCartId(USER_ID)).thenReturn(false);
+
+        assertThrows(OrderProcessingException.class,
+                () -> orderCheckoutService.submit(createRequestDto(), USER_ID));
+        verify(orderJdbcRepository, never()).findCheckoutItemsForUpdate(any());
+    }
+
+    @Test
+    @DisplayName("Checkout status is visible to its owner only")
+    void getCheckout_ByOtherUser_ThrowsException() {
+        when(cartItemRepository.existsByShoppingCartId(USER_ID)).thenReturn(true);
+
+        OrderCheckoutDto queued = orderCheckoutService.submit(createRequestDto(), USER_ID);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> orderCheckoutService.getCheckout(queued.reference(), OTHER_USER_ID));
+    }
+
+    @Test
+    @DisplayName("Shutdown places queued checkouts and refuses new ones")
+    void stop_WithQueuedCheckout_DrainsQueue() {
+        when(cartItemRepository.existsByShoppingCartId(USER_ID)).thenReturn(true);
+        when(orderJdbcRepository.findCheckoutItemsForUpdate(Set.of(USER_ID)))
+                .thenReturn(List.of(new CheckoutItemRow(CART_ITEM_ID, USER_ID, TEST_BOOK_ID,
+                        QUANTITY, Money.of(TEST_BOOK_PRICE))));
+        when(orderJdbcRepository.insertOrders(any())).thenReturn(List.of(ORDER_ID));
+
+        OrderCheckoutDto queued = orderCheckoutService.submit(createRequestDto(), USER_ID);
+        orderCheckoutService.stop();
+
+        assertEquals(OrderCheckoutDto.Status.PLACED,
+                orderCheckoutService.getCheckout(queued.reference(), USER_ID).status());
+        assertThrows(CheckoutQueueFullException.class,
+                () -> orderCheckoutService.submit(createRequestDto(), USER_ID));
+    }
+
+    private OrderCheckoutDto awaitCompletion(String reference) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        OrderCheckoutDto checkout = orderCheckoutService.getCheckout(reference, USER_ID);
+        while (checkout.status() == OrderCheckoutDto.Status.QUEUED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            checkout = orderCheckoutService.getCheckout(reference, USER_ID);
+        }
+        return checkout;
+    }
+
+    private static OrderRequestDto createRequestDto() {
+        OrderRequestDto requestDto = new OrderRequestDto();
+        requestDto.setShippingAddress("Test address");
+        return requestDto;
+    }
+}
@@ -0,0 +1,91 @@
+package book.store.service.order;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.dto.order.OrderItemResponseDto;
+import book.store.dto.order.OrderResponseDto;
+import book.store.mapper.OrderItemMapper;
+import book.store.mapper.OrderMapper;
+import book.store.repository.order.OrderHistoryView;
+import book.store.repository.order.OrderItemHistoryView;
+import book.store.repository.order.OrderItemRepository;
+import book.store.repository.order.OrderRepository;
+import book.store.repository.shopping.cart.ShoppingCartRepository;
+import book.store.service.order.impl.OrderServiceImpl;
+import book.store.service.shopping.cart.ShoppingCartService;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+class OrderServiceTest {
+    private static final Long USER_ID = 2L;
+    private static final Long FIRST_ORDER_ID = 11L;
+    private static final Long SECOND_ORDER_ID = 12L;
+    private static final Pageable PAGEABLE = PageRequest.of(0, 20);
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderItemRepository orderItemRepository = mock(OrderItemRepository.class);
+    private final OrderItemMapper orderItemMapper = mock(OrderItemMapper.class);
+    private final OrderMapper orderMapper = mock(OrderMapper.class);
+    private final OrderServiceImpl orderService = new OrderServiceImpl(orderRepository,
+            mock(ShoppingCartRepository.class), orderItemRepository, orderItemMapper,
+            orderMapper, mock(ApplicationEventPublisher.class), mock(ShoppingCartService.class));
+
+    @Test
+    @DisplayName("Order history reads a page of orders and all their items in two queries")
+    void getOrders_WithOrders_ReturnsOrdersWithItems() {
+        OrderHistoryView firstOrder = order(FIRST_ORDER_ID);
+        OrderHistoryView secondOrder = order(SECOND_ORDER_ID);
+        OrderItemHistoryView firstItem = orderItem(FIRST_ORDER_ID);
+        OrderItemHistoryView secondItem = orderItem(FIRST_ORDER_ID);
+        OrderItemResponseDto firstItemDto = new OrderItemResponseDto();
+        OrderItemResponseDto secondItemDto = new OrderItemResponseDto();
+        OrderResponseDto firstOrderDto = new OrderResponseDto();
+        OrderResponseDto secondOrderDto = new OrderResponseDto();
+        when(orderRepository.findHistoryByUserId(USER_ID, PAGEABLE))
+                .thenReturn(List.of(firstOrder, secondOrder));
+        when(orderItemRepository.findHistoryByOrderIds(List.of(FIRST_ORDER_ID, SECOND_ORDER_ID)))
+                .thenReturn(List.of(firstItem, secondItem));
+        when(orderItemMapper.toDto(firstItem)).thenReturn(firstItemDto);
+        when(orderItemMapper.toDto(secondItem)).thenReturn(secondItemDto);
+        when(orderMapper.toDto(firstOrder)).thenReturn(firstOrderDto);
+        when(orderMapper.toDto(secondOrder)).thenReturn(secondOrderDto);
+
+        List<OrderResponseDto> actual = orderService.getOrders(USER_ID, PAGEABLE);
+
+        assertEquals(List.of(firstOrderDto, secondOrderDto), actual);
+        assertEquals(Set.of(firstItemDto, secondItemDto), firstOrderDto.getOrderItems());
+        assertTrue(secondOrderDto.getOrderItems().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Order history without orders does not query order items")
+    void getOrders_WithoutOrders_ReturnsEmptyList() {
+        when(orderRepository.findHistoryByUserId(USER_ID, PAGEABLE)).thenReturn(List.of());
+
+        assertTrue(orderService.getOrders(USER_ID, PAGEABLE).isEmpty());
+        verify(orderItemRepository, never()).findHistoryByOrderIds(any());
+    }
+
+    private static OrderHistoryView order(Long id) {
+        OrderHistoryView order = mock(OrderHistoryView.class);
+        when(order.getId()).thenReturn(id);
+        return order;
+    }
+
+    private static OrderItemHistoryView orderItem(Long orderId) {
+        OrderItemHistoryView orderItem = mock(OrderItemHistoryView.class);
+        when(orderItem.getOrderId()).thenReturn(orderId);
+        return orderItem;
+    }
+}
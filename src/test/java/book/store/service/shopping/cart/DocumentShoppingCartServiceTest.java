@@ -0,0 +1,137 @@
+package book.store.service.shopping.cart;
+
+import static book.store.util.TestUtil.TEST_BOOK_ID;
+import static book.store.util.TestUtil.TEST_BOOK_PRICE;
+import static book.store.util.TestUtil.TEST_BOOK_TITLE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.dto.cart.item.CartItemRequestDto;
+import book.store.dto.cart.item.CartItemResponseDto;
+import book.store.dto.shopping.cart.ShoppingCartResponseDto;
+import book.store.repository.cart.item.CartItemJdbcRepository;
+import book.store.repository.shopping.cart.CartDocument;
+import book.store.repository.shopping.cart.ShoppingCartDocumentRepository;
+import book.store.repository.shopping.cart.ShoppingCartDocumentRepository.CartDocumentRow;
+import book.store.repository.shopping.cart.ShoppingCartRepository;
+import book.store.service.book.BookService;
+import book.store.service.shopping.cart.impl.CartWriteRetryTemplate;
+import book.store.service.shopping.cart.impl.DocumentShoppingCartServiceImpl;
+import book.store.util.TestUtil;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentShoppingCartServiceTest {
+    private static final Long USER_ID = 2L;
+    private static final long VERSION = 3L;
+    private static final Long LEGACY_ITEM_ID = 7L;
+
+    @Mock
+    private ShoppingCartRepository shoppingCartRepository;
+    @Mock
+    private ShoppingCartDocumentRepository shoppingCartDocumentRepository;
+    @Mock
+    private CartItemJdbcRepository cartItemJdbcRepository;
+    @Mock
+    private BookService bookService;
+    @Mock
+    private CartWriteRetryTemplate cartWriteRetryTemplate;
+
+    @InjectMocks
+    private DocumentShoppingCartServiceImpl shoppingCartService;
+
+    @Test
+    @DisplayName("Get cart falls back to cart_items rows when no document is stored")
+    void get_WithoutDocument_ReadsCartItemRows() {
+        when(shoppingCartDocumentRepository.findByUserId(USER_ID))
+                .thenReturn(Optional.of(new CartDocumentRow(VERSION, null)));
+        when(shoppingCartDocumentRepository.findItemRowsByShoppingCartId(USER_ID))
+                .thenReturn(List.of(createItem(LEGACY_ITEM_ID, 2)));
+
+        ShoppingCartResponseDto actual = shoppingCartService.get(USER_ID);
+
+        CartItemResponseDto item = actual.getCartItems().iterator().next();
+        assertEquals(LEGACY_ITEM_ID, item.getId());
+        assertEquals(TEST_BOOK_TITLE, item.getBookTitle());
+        assertEquals(2, item.getQuantity());
+    }
+
+    @Test
+    @DisplayName("Get cart of a user without a cart returns an empty cart without creating it")
+    void get_WithoutStoredCart_ReturnsEmptyCart() {
+        when(shoppingCartDocumentRepository.findByUserId(USER_ID)).thenReturn(Optional.empty());
+
+        ShoppingCartResponseDto actual = shoppingCartService.get(USER_ID);
+
+        assertEquals(USER_ID, actual.getUserId());
+        assertTrue(actual.getCartItems().isEmpty());
+        verify(shoppingCartRepository, never()).createIfMissing(any());
+    }
+
+    @Test
+    @DisplayName("Adding a book moves cart_items rows into the document")
+    void addCartItem_WithoutDocument_StoresDocumentAndDeletesRows() {
+        mockRetryTemplate();
+        when(bookService.getBookDtoById(TEST_BOOK_ID)).thenReturn(TestUtil.createTestBookDto());
+        when(shoppingCartDocumentRepository.findByUserId(USER_ID))
+                .thenReturn(Optional.of(new CartDocumentRow(VERSION, null)));
+        when(shoppingCartDocumentRepository.findItemRowsByShoppingCartId(USER_ID))
+                .thenReturn(List.of(createItem(LEGACY_ITEM_ID, 2)));
+        when(shoppingCartDocumentRepository.update(eq(USER_ID), eq(VERSION), any()))
+                .thenReturn(true);
+
+        ShoppingCartResponseDto actual = shoppingCartService.addCartItem(
+                new CartItemRequestDto(TEST_BOOK_ID, 3), USER_ID);
+
+        assertEquals(1, actual.getCartItems().size());
+        CartItemResponseDto item = actual.getCartItems().iterator().next();
+        assertEquals(LEGACY_ITEM_ID, item.getId());
+        assertEquals(5, item.getQuantity());
+        verify(shoppingCartDocumentRepository).update(USER_ID, VERSION, new CartDocument(
+                LEGACY_ITEM_ID + 1, List.of(createItem(LEGACY_ITEM_ID, 5))));
+        verify(cartItemJdbcRepository).deleteAllById(List.of(LEGACY_ITEM_ID));
+    }
+
+    @Test
+    @DisplayName("A concurrent document change fails the write")
+    void addCartItem_WithStaleVersion_ThrowsConflict() {
+        mockRetryTemplate();
+        when(bookService.getBookDtoById(TEST_BOOK_ID)).thenReturn(TestUtil.createTestBookDto());
+        when(shoppingCartDocumentRepository.findByUserId(USER_ID))
+                .thenReturn(Optional.of(new CartDocumentRow(VERSION,
+                        new CartDocument(1, List.of()))));
+        when(shoppingCartDocumentRepository.update(eq(USER_ID), anyLong(), any()))
+                .thenReturn(false);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> shoppingCartService
+                .addCartItem(new CartItemRequestDto(TEST_BOOK_ID, 1), USER_ID));
+        verify(cartItemJdbcRepository, never()).deleteAllById(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockRetryTemplate() {
+        when(cartWriteRetryTemplate.execute(any()))
+                .thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(0)).get());
+    }
+
+    private static CartDocument.Item createItem(Long id, int quantity) {
+        return new CartDocument.Item(id, TEST_BOOK_ID, TEST_BOOK_TITLE, TEST_BOOK_PRICE,
+                quantity);
+    }
+}
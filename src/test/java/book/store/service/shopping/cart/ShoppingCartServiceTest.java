@@ -0,0 +1,131 @@
+package book.store.service.shopping.cart;
+
+import static book.store.util.TestUtil.TEST_BOOK_ID;
+import static book.store.util.TestUtil.TEST_BOOK_TITLE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import book.store.dto.cart.item.CartItemRequestDto;
+import book.store.dto.cart.item.CartItemResponseDto;
+import book.store.dto.shopping.cart.ShoppingCartResponseDto;
+import book.store.exception.EntityNotFoundException;
+import book.store.mapper.ShoppingCartMapper;
+import book.store.repository.cart.item.CartItemJdbcRepository;
+import book.store.repository.shopping.cart.ShoppingCartRepository;
+import book.store.service.book.BookService;
+import book.store.service.shopping.cart.impl.ShoppingCartServiceImpl;
+import book.store.util.TestUtil;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ShoppingCartServiceTest {
+    private static final Long USER_ID = 2L;
+    private static final Long ITEM_ID = 7L;
+    private static final int QUANTITY = 3;
+
+    @Mock
+    private CartItemJdbcRepository cartItemJdbcRepository;
+    @Mock
+    private ShoppingCartRepository shoppingCartRepository;
+    @Mock
+    private BookService bookService;
+    @Mock
+    private ShoppingCartMapper shoppingCartMapper;
+
+    @InjectMocks
+    private ShoppingCartServiceImpl shoppingCartService;
+
+    @Test
+    @DisplayName("Add to an existing cart upserts the line and returns the cart")
+    void addCartItem_WithExistingCart_ReturnsCart() {
+        CartItemResponseDto item = createItem(QUANTITY);
+        when(cartItemJdbcRepository.upsert(USER_ID, TEST_BOOK_ID, QUANTITY)).thenReturn(1);
+        when(cartItemJdbcRepository.findAllByShoppingCartId(USER_ID)).thenReturn(List.of(item));
+
+        ShoppingCartResponseDto actual = shoppingCartService.addCartItem(
+                new CartItemRequestDto(TEST_BOOK_ID, QUANTITY), USER_ID);
+
+        assertEquals(Set.of(item), actual.getCartItems());
+        verify(shoppingCartRepository).incrementVersion(USER_ID);
+        verify(shoppingCartRepository, never()).createIfMissing(anyLong());
+        verify(bookService, never()).getBookDtoById(anyLong());
+    }
+
+    @Test
+    @DisplayName("First add creates the missing cart and upserts the line again")
+    void addCartItem_WithoutCart_CreatesCart() {
+        CartItemResponseDto item = createItem(QUANTITY);
+        when(cartItemJdbcRepository.upsert(USER_ID, TEST_BOOK_ID, QUANTITY))
+                .thenReturn(0)
+                .thenReturn(1);
+        when(cartItemJdbcRepository.findAllByShoppingCartId(USER_ID)).thenReturn(List.of(item));
+
+        ShoppingCartResponseDto actual = shoppingCartService.addCartItem(
+                new CartItemRequestDto(TEST_BOOK_ID, QUANTITY), USER_ID);
+
+        assertEquals(Set.of(item), actual.getCartItems());
+        verify(shoppingCartRepository).createIfMissing(USER_ID);
+        verify(shoppingCartRepository).incrementVersion(USER_ID);
+        verify(bookService, never()).getBookDtoById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Get of a missing cart returns an empty cart without creating it")
+    void get_WithoutCart_ReturnsEmptyCart() {
+        when(shoppingCartRepository.findByUserId(USER_ID)).thenReturn(Optional.empty());
+
+        ShoppingCartResponseDto actual = shoppingCartService.get(USER_ID);
+
+        assertEquals(USER_ID, actual.getUserId());
+        assertTrue(actual.getCartItems().isEmpty());
+        verify(shoppingCartRepository, never()).createIfMissing(anyLong());
+        verifyNoInteractions(cartItemJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("Add of a missing book fails with not found")
+    void addCartItem_WithMissingBook_ThrowsException() {
+        when(cartItemJdbcRepository.upsert(USER_ID, TEST_BOOK_ID, QUANTITY)).thenReturn(0);
+        when(bookService.getBookDtoById(TEST_BOOK_ID))
+                .thenThrow(new EntityNotFoundException("Book not found by id: " + TEST_BOOK_ID));
+
+        assertThrows(EntityNotFoundException.class, () -> shoppingCartService.addCartItem(
+                new CartItemRequestDto(TEST_BOOK_ID, QUANTITY), USER_ID));
+        verify(shoppingCartRepository, never()).incrementVersion(anyLong());
+    }
+
+    @Test
+    @DisplayName("Add to a cart that can't be created fails with not found")
+    void addCartItem_WithDeletedCart_ThrowsException() {
+        when(cartItemJdbcRepository.upsert(USER_ID, TEST_BOOK_ID, QUANTITY)).thenReturn(0);
+        when(bookService.getBookDtoById(TEST_BOOK_ID)).thenReturn(TestUtil.createTestBookDto());
+
+        assertThrows(EntityNotFoundException.class, () -> shoppingCartService.addCartItem(
+                new CartItemRequestDto(TEST_BOOK_ID, QUANTITY), USER_ID));
+        verify(shoppingCartRepository).createIfMissing(USER_ID);
+        verify(shoppingCartRepository, never()).incrementVersion(anyLong());
+    }
+
+    private static CartItemResponseDto createItem(int quantity) {
+        CartItemResponseDto item = new CartItemResponseDto();
+        item.setId(ITEM_ID);
+        item.setBookId(TEST_BOOK_ID);
+        item.setBookTitle(TEST_BOOK_TITLE);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
@@ -0,0 +1,189 @@
+package book.store.service.shopping.cart;
+
+import static book.store.util.TestUtil.TEST_BOOK_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.dto.cart.item.CartItemRequestDto;
+import book.store.dto.cart.item.CartItemResponseDto;
+import book.store.dto.cart.item.CartItemUpdateQuantityDto;
+import book.store.dto.shopping.cart.ShoppingCartResponseDto;
+import book.store.exception.ShoppingCartUnavailableException;
+import book.store.repository.cart.item.CartItemJdbcRepository;
+import book.store.repository.cart.item.CartItemRow;
+import book.store.repository.shopping.cart.ShoppingCartRepository;
+import book.store.service.book.BookService;
+import book.store.service.shopping.cart.impl.CartBatchOperations;
+import book.store.service.shopping.cart.impl.WriteBehindShoppingCartServiceImpl;
+import book.store.util.TestUtil;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class WriteBehindShoppingCartServiceTest {
+    private static final Long USER_ID = 2L;
+    private static final Long OTHER_USER_ID = 3L;
+    private static final Long ITEM_ID = 7L;
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+    private final ShoppingCartRepository shoppingCartRepository =
+            mock(ShoppingCartRepository.class);
+    private final CartItemJdbcRepository cartItemJdbcRepository =
+            mock(CartItemJdbcRepository.class);
+    private final BookService bookService = mock(BookService.class);
+
+    @BeforeEach
+    void setUp() {
+        when(bookService.getBookDtoById(TEST_BOOK_ID)).thenReturn(TestUtil.createTestBookDto());
+        when(shoppingCartRepository.findByUserId(USER_ID)).thenReturn(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("Changes to a line between flushes are written as one insert")
+    void flush_WithSeveralChanges_CoalescesIntoOneInsert() {
+        WriteBehindShoppingCartServiceImpl shoppingCartService = createService(IDLE_TIMEOUT);
+        when(cartItemJdbcRepository.insertAll(any())).thenReturn(List.of(ITEM_ID));
+
+        shoppingCartService.addCartItem(new CartItemRequestDto(TEST_BOOK_ID, 1), USER_ID);
+        CartItemResponseDto item = getItem(shoppingCartService.addCartItem(
+                new CartItemRequestDto(TEST_BOOK_ID, 2), USER_ID));
+        shoppingCartService.update(new CartItemUpdateQuantityDto(5), item.getId(), USER_ID);
+        shoppingCartService.flush(USER_ID);
+
+        verify(shoppingCartRepository).createIfMissing(USER_ID);
+        verify(cartItemJdbcRepository).insertAll(
+                List.of(new CartItemRow(null, USER_ID, TEST_BOOK_ID, 5)));
+        verify(cartItemJdbcRepository).updateAll(List.of());
+    }
+
+    @Test
+    @DisplayName("A flushed line replaces its provisional id with the generated one")
+    void flushAll_WithNewLine_HandsOverGeneratedId() {
+        WriteBehindShoppingCartServiceImpl shoppingCartService = createService(IDLE_TIMEOUT);
+        when(cartItemJdbcRepository.insertAll(any())).thenReturn(List.of(ITEM_ID));
+
+        CartItemResponseDto provisionalItem = getItem(shoppingCartService.addCartItem(
+                new CartItemRequestDto(TEST_BOOK_ID, 1), USER_ID));
+        assertTrue(provisionalItem.getId() < 0);
+        shoppingCartService.flushAll();
+        assertEquals(ITEM_ID, getItem(shoppingCartService.get(USER_ID)).getId());
+        shoppingCartService.update(new CartItemUpdateQuantityDto(4), ITEM_ID, USER_ID);
+        shoppingCartService.flushAll();
+
+        verify(cartItemJdbcRepository).updateAll(
+                List.of(new CartItemRow(ITEM_ID, USER_ID, TEST_BOOK_ID, 4)));
+    }
+
+    @Test
+    @DisplayName("A failed flush is reported to the caller and the changes are kept for a retry")
+    void flush_WhenWriteFails_RestoresChangesAndThrows() {
+        WriteBehindShoppingCartServiceImpl shoppingCartService = createService(IDLE_TIMEOUT);
+        when(cartItemJdbcRepository.insertAll(any()))
+                .thenThrow(new CannotCreateTransactionException("No connection"))
+                .thenReturn(List.of(ITEM_ID));
+
+        shoppingCartService.addCartItem(new CartItemRequestDto(TEST_BOOK_ID, 1), USER_ID);
+        assertThrows(CannotCreateTransactionException.class,
+                () -> shoppingCartService.flush(USER_ID));
+        assertTrue(getItem(shoppingCartService.get(USER_ID)).getId() < 0);
+        shoppingCartService.flush(USER_ID);
+
+        verify(cartItemJdbcRepository, times(2)).insertAll(
+                List.of(new CartItemRow(null, USER_ID, TEST_BOOK_ID, 1)));
+    }
+
+    @Test
+    @DisplayName("Scheduled flush failures are retried on the next run")
+    void flushAll_WhenWriteFails_RetriesLater() {
+        WriteBehindShoppingCartServiceImpl shoppingCartService = createService(IDLE_TIMEOUT);
+        when(cartItemJdbcRepository.insertAll(any()))
+                .thenThrow(new CannotCreateTransactionException("No connection"))
+                .thenReturn(List.of(ITEM_ID));
+
+        shoppingCartService.addCartItem(new CartItemRequestDto(TEST_BOOK_ID, 1), USER_ID);
+        shoppingCartService.flushAll();
+        shoppingCartService.flushAll();
+
+        assertEquals(ITEM_ID, getItem(shoppingCartService.get(USER_ID)).getId());
+        verify(cartItemJdbcRepository, times(2)).insertAll(
+                List.of(new CartItemRow(null, USER_ID, TEST_BOOK_ID, 1)));
+    }
+
+    @Test
+    @DisplayName("A cart that can't be written doesn't keep other carts from being flushed")
+    void flushAll_WhenOneCartFails_FlushesOtherCarts() {
+        WriteBehindShoppingCartServiceImpl shoppingCartService = createService(IDLE_TIMEOUT);
+        when(cartItemJdbcRepository.insertAll(any())).thenAnswer(invocation -> {
+            List<CartItemRow> rows = invocation.getArgument(0);
+            if (rows.stream().anyMatch(row -> row.shoppingCartId().equals(OTHER_USER_ID))) {
+                throw new DataIntegrityViolationException("Duplicate cart item");
+            }
+            return List.of(ITEM_ID);
+        });
+
+        shoppingCartService.addCartItem(new CartItemRequestDto(TEST_BOOK_ID, 1), USER_ID);
+        shoppingCartService.addCartItem(new CartItemRequestDto(TEST_BOOK_ID, 1), OTHER_USER_ID);
+        shoppingCartService.flushAll();
+
+        assertEquals(ITEM_ID, getItem(shoppingCartService.get(USER_ID)).getId());
+        assertTrue(getItem(shoppingCartService.get(OTHER_USER_ID)).getId() < 0);
+    }
+
+    @Test
+    @DisplayName("Idle carts are evicted only once their changes are written")
+    void flushAll_WithIdleCart_EvictsFlushedCart() throws InterruptedException {
+        WriteBehindShoppingCartServiceImpl shoppingCartService = createService(Duration.ZERO);
+        when(cartItemJdbcRepository.insertAll(any()))
+                .thenThrow(new CannotCreateTransactionException("No connection"))
+                .thenReturn(List.of(ITEM_ID));
+
+        shoppingCartService.addCartItem(new CartItemRequestDto(TEST_BOOK_ID, 1), USER_ID);
+        Thread.sleep(2);
+        shoppingCartService.flushAll();
+        shoppingCartService.get(USER_ID);
+        verify(shoppingCartRepository, times(1)).findByUserId(USER_ID);
+
+        Thread.sleep(2);
+        shoppingCartService.flushAll();
+        shoppingCartService.get(USER_ID);
+        verify(shoppingCartRepository, times(2)).findByUserId(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Stopping writes pending changes and refuses new ones")
+    void stop_WithPendingChanges_FlushesAndRefusesWrites() {
+        WriteBehindShoppingCartServiceImpl shoppingCartService = createService(IDLE_TIMEOUT);
+        when(cartItemJdbcRepository.insertAll(any())).thenReturn(List.of(ITEM_ID));
+
+        shoppingCartService.addCartItem(new CartItemRequestDto(TEST_BOOK_ID, 1), USER_ID);
+        shoppingCartService.stop();
+
+        verify(cartItemJdbcRepository).insertAll(
+                List.of(new CartItemRow(null, USER_ID, TEST_BOOK_ID, 1)));
+        assertThrows(ShoppingCartUnavailableException.class, () -> shoppingCartService
+                .addCartItem(new CartItemRequestDto(TEST_BOOK_ID, 1), USER_ID));
+    }
+
+    private WriteBehindShoppingCartServiceImpl createService(Duration idleTimeout) {
+        return new WriteBehindShoppingCartServiceImpl(shoppingCartRepository,
+                cartItemJdbcRepository, bookService, new CartBatchOperations(bookService),
+                mock(PlatformTransactionManager.class), idleTimeout);
+    }
+
+    private static CartItemResponseDto getItem(ShoppingCartResponseDto cart) {
+        assertEquals(1, cart.getCartItems().size());
+        return cart.getCartItems().iterator().next();
+    }
+}
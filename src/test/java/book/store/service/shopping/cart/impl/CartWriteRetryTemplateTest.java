@@ -0,0 +1,59 @@
+package book.store.service.shopping.cart.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class CartWriteRetryTemplateTest {
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CartWriteRetryTemplate cartWriteRetryTemplate = new CartWriteRetryTemplate(
+            mock(PlatformTransactionManager.class), meterRegistry, MAX_ATTEMPTS,
+            Duration.ZERO, Duration.ZERO);
+
+    @Test
+    @DisplayName("Conflicting writes are retried until they succeed")
+    void execute_WithTransientConflicts_RetriesAndReturnsResult() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = cartWriteRetryTemplate.execute(() -> {
+            if (attempts.incrementAndGet() < MAX_ATTEMPTS) {
+                throw new OptimisticLockingFailureException("conflict");
+            }
+            return "cart";
+        });
+
+        assertEquals("cart", result);
+        assertEquals(MAX_ATTEMPTS, attempts.get());
+        assertEquals(2, meterRegistry.get("cart.write.retries").counter().count());
+        assertEquals(2, meterRegistry.get("cart.writes").tag("outcome", "conflict")
+                .counter().count());
+        assertEquals(1, meterRegistry.get("cart.writes").tag("outcome", "success")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Conflicts are rethrown once the attempts are exhausted")
+    void execute_WithPersistentConflict_ThrowsAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> cartWriteRetryTemplate.execute(() -> {
+                    attempts.incrementAndGet();
+                    throw new OptimisticLockingFailureException("conflict");
+                }));
+
+        assertEquals(MAX_ATTEMPTS, attempts.get());
+        assertEquals(1, meterRegistry.get("cart.write.failures").counter().count());
+    }
+}
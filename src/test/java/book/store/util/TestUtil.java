@@ -7,6 +7,7 @@ import book.store.dto.category.CategoryDto;
 import book.store.dto.category.CreateCategoryRequestDto;
 import book.store.model.Book;
 import book.store.model.Category;
+import book.store.model.Money;
 import java.math.BigDecimal;
 import java.util.Set;
 
@@ -21,13 +22,14 @@ public class TestUtil {
     public static final String TEST_BOOK_COVER_IMAGE = "test.jpg";
     public static final String TEST_CATEGORY_NAME = "Test Category";
     public static final String TEST_CATEGORY_DESCRIPTION = "Test Description";
+    public static final Long TEST_VERSION = 0L;
 
     public static Book createTestBook() {
         Book book = new Book();
         book.setTitle(TEST_BOOK_TITLE);
         book.setAuthor(TEST_BOOK_AUTHOR);
         book.setIsbn(TEST_BOOK_ISBN);
-        book.setPrice(TEST_BOOK_PRICE);
+        book.setPrice(Money.of(TEST_BOOK_PRICE));
         book.setDescription(TEST_BOOK_DESCRIPTION);
         book.setCoverImage(TEST_BOOK_COVER_IMAGE);
 
@@ -119,6 +121,6 @@ public class TestUtil {
 
     public static CategoryDto createTestCategoryDto() {
         return new CategoryDto(TEST_CATEGORY_ID.intValue(),
-                TEST_CATEGORY_NAME, TEST_CATEGORY_DESCRIPTION);
+                TEST_CATEGORY_NAME, TEST_CATEGORY_DESCRIPTION, TEST_VERSION);
     }
 }